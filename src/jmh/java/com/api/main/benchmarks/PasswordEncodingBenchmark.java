@@ -0,0 +1,61 @@
+package com.api.main.benchmarks;
+
+import com.api.main.security.AdaptivePasswordEncoder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Cost of hashing (registration, rehash on login) and verifying (every login)
+ * a password with AdaptivePasswordEncoder at several work factors.
+ * The cost parameter is "<algorithm>:<strength or iterations>"; the defaults
+ * bracket the security.password.* settings so a cost change can be judged
+ * against the login latency budget before it is deployed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncodingBenchmark {
+
+  private static final String PASSWORD = "Benchmark-Password-123";
+
+  @Param({"bcrypt:10", "bcrypt:12", "pbkdf2:310000", "pbkdf2:600000"})
+  private String cost;
+
+  private AdaptivePasswordEncoder encoder;
+  private String hash;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    String[] parts = cost.split(":");
+    int work = Integer.parseInt(parts[1]);
+    encoder =
+        AdaptivePasswordEncoder.BCRYPT.equals(parts[0])
+            ? new AdaptivePasswordEncoder(parts[0], work, 0)
+            : new AdaptivePasswordEncoder(parts[0], 10, work);
+    hash = encoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public String encode() {
+    return encoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches(PASSWORD, hash);
+  }
+}
@@ -0,0 +1,58 @@
+package com.api.main.benchmarks;
+
+import com.api.main.dto.ErrorResponse;
+import com.api.main.dto.LoginResponse;
+import com.api.main.dto.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/*
+ * Jackson serialization of the response bodies written on the authentication
+ * paths: login/logout (LoginResponse), /api/auth/me (UserResponse) and every
+ * error (ErrorResponse). The ObjectMapper is built the way Spring Boot builds
+ * the one behind the message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private final LoginResponse loginResponse =
+      new LoginResponse("success", "Login successful", "4f1c2d3e-5a6b-7c8d-9e0f-a1b2c3d4e5f6-abc");
+  private final UserResponse userResponse =
+      new UserResponse(42L, "benchmark-user", "benchmark@example.com", List.of("USER"));
+  private final ErrorResponse errorResponse =
+      new ErrorResponse("error", "Invalid username or password");
+
+  @Benchmark
+  public byte[] loginResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(loginResponse);
+  }
+
+  @Benchmark
+  public byte[] userResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(userResponse);
+  }
+
+  @Benchmark
+  public byte[] errorResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(errorResponse);
+  }
+}
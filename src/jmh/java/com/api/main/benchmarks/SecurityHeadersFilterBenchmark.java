@@ -0,0 +1,88 @@
+package com.api.main.benchmarks;
+
+import com.api.main.security.SecurityHeadersFilter;
+import com.api.main.security.SecurityHeadersProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/*
+ * Per-request cost of SecurityHeadersFilter, which runs on every response.
+ * The chain does nothing and the response stores headers in place, like a
+ * container's recycled header table, so the result is the filter's own work:
+ * gc.alloc.rate.norm should stay at 0 B/op. The path parameter compares the
+ * default header set (/users/me) with the minimal health profile (/health).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityHeadersFilterBenchmark {
+
+  @Param({"/users/me", "/health"})
+  private String path;
+
+  private final FilterChain chain = (request, response) -> {};
+  private SecurityHeadersFilter filter;
+  private MockHttpServletRequest request;
+  private HeaderSink response;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SecurityHeadersProperties.Profile health = new SecurityHeadersProperties.Profile();
+    health.setPaths(List.of("/health", "/health/live", "/health/ready"));
+    health.setHeaders(Map.of("X-Content-Type-Options", "nosniff", "Cache-Control", "no-store"));
+    SecurityHeadersProperties properties = new SecurityHeadersProperties();
+    properties.getProfiles().put("health", health);
+
+    filter = new SecurityHeadersFilter(properties);
+    request = new MockHttpServletRequest("GET", path);
+    response = new HeaderSink();
+  }
+
+  @Benchmark
+  public int doFilter() throws IOException, ServletException {
+    response.written = 0;
+    filter.doFilter(request, response, chain);
+    return response.written;
+  }
+
+  /* Response that keeps only the last header written, without allocating */
+  private static final class HeaderSink extends HttpServletResponseWrapper {
+
+    private int written;
+    private String lastName;
+    private String lastValue;
+
+    HeaderSink() {
+      super(new MockHttpServletResponse());
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+      lastName = name;
+      lastValue = value;
+      written++;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.api.main.benchmarks;
+
+import com.api.main.security.TokenMinter;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Compares token generation strategies under concurrent logins:
+ * - legacy: new SecureRandom per token plus UUID.randomUUID (the previous AuthService path)
+ * - threadLocalDrbg: TokenMinter.generate, one DRBG per thread
+ * - pooled: TokenMinter.mint, taking pre-generated tokens from the buffer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenMintingBenchmark {
+
+  private TokenMinter pooledMinter;
+  private TokenMinter directMinter;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    pooledMinter = new TokenMinter(1024, true);
+    pooledMinter.start();
+    directMinter = new TokenMinter(0, false);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pooledMinter.stop();
+  }
+
+  @Benchmark
+  public String legacy() {
+    byte[] randomBytes = new byte[32];
+    new SecureRandom().nextBytes(randomBytes);
+    return UUID.randomUUID().toString()
+        + "-"
+        + Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+  }
+
+  @Benchmark
+  public String threadLocalDrbg() {
+    return directMinter.generate();
+  }
+
+  @Benchmark
+  public String pooled() {
+    return pooledMinter.mint();
+  }
+}
@@ -0,0 +1,87 @@
+package com.api.main.benchmarks;
+
+import com.api.main.Application;
+import com.api.main.entity.User;
+import com.api.main.repositories.UserRepository;
+import com.api.main.security.CustomUserDetailsService;
+import com.api.main.services.ReplicaPinning;
+import com.api.main.services.RevocationEventBus;
+import com.api.main.services.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/*
+ * CustomUserDetailsService.loadUserByUsername against the application context
+ * on an in-memory H2 database (the test configuration, without a web server):
+ * - cached: the service as wired, answered by UserDetailsCache after the first call
+ * - database: the same service over a cache that expires immediately, so every
+ *   call runs the repository query, the entity mapping and the transaction
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsLoadingBenchmark {
+
+  private static final String USERNAME = "benchmark-user";
+
+  private ConfigurableApplicationContext context;
+  private CustomUserDetailsService cachedService;
+  private CustomUserDetailsService uncachedService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+            .run();
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    if (userRepository.findByUsername(USERNAME).isEmpty()) {
+      userRepository.save(new User(USERNAME, "benchmark@example.com", "{noop}unused", "USER"));
+    }
+    ReplicaPinning replicaPinning = context.getBean(ReplicaPinning.class);
+    UserDetailsCache expiringCache =
+        new UserDetailsCache(
+            new SimpleMeterRegistry(),
+            context.getBean(RevocationEventBus.class),
+            replicaPinning,
+            1,
+            0);
+    cachedService = context.getBean(CustomUserDetailsService.class);
+    uncachedService = new CustomUserDetailsService(userRepository, expiringCache, replicaPinning);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public UserDetails cached() {
+    return cachedService.loadUserByUsername(USERNAME);
+  }
+
+  @Benchmark
+  public UserDetails database() {
+    return uncachedService.loadUserByUsername(USERNAME);
+  }
+}
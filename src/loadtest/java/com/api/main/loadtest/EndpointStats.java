@@ -0,0 +1,97 @@
+package com.api.main.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/*
+ * Latency and outcome counters for one endpoint during the measured window.
+ * Latencies are recorded in nanoseconds from the request's intended start, so
+ * time spent queued behind a slow server counts against the server
+ * (no coordinated omission). Safe for concurrent recording.
+ */
+final class EndpointStats {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+  private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p99", "p99.9"};
+
+  private final String name;
+  private final Recorder latencies = new Recorder(3);
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+  private Histogram histogram;
+
+  EndpointStats(String name) {
+    this.name = name;
+  }
+
+  String name() {
+    return name;
+  }
+
+  /*
+   * Record a completed (or failed) request.
+   * @param latencyNanos Time from the intended start to completion
+   * @param success Whether the response had a 2xx status
+   *
+   */
+  void record(long latencyNanos, boolean success) {
+    latencies.recordValue(latencyNanos);
+    if (!success) {
+      errors.increment();
+    }
+  }
+
+  /* Count an arrival that could not be sent (e.g. no token to log out) */
+  void skip() {
+    skipped.increment();
+  }
+
+  /*
+   * Stop recording and build the report entry for this endpoint.
+   * @param measuredSeconds Length of the measured window
+   * @return Requests, errors, skips, throughput and latency percentiles in ms
+   *
+   */
+  Map<String, Object> finish(double measuredSeconds) {
+    histogram = latencies.getIntervalHistogram();
+    Map<String, Object> latencyMillis = new LinkedHashMap<>();
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      latencyMillis.put(PERCENTILE_KEYS[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+    }
+    latencyMillis.put("max", millis(histogram.getMaxValue()));
+    latencyMillis.put("mean", histogram.getMean() / TimeUnit.MILLISECONDS.toNanos(1));
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("requests", histogram.getTotalCount());
+    report.put("errors", errors.sum());
+    report.put("skipped", skipped.sum());
+    report.put("throughput", histogram.getTotalCount() / measuredSeconds);
+    report.put("latencyMillis", latencyMillis);
+    return report;
+  }
+
+  /*
+   * Write the full percentile distribution (HdrHistogram .hgrm format, ms).
+   * @param directory Report directory
+   * @throws IOException if the file cannot be written
+   *
+   */
+  void writeDistribution(Path directory) throws IOException {
+    try (PrintStream out =
+        new PrintStream(new FileOutputStream(directory.resolve(name + ".hgrm").toFile()))) {
+      histogram.outputPercentileDistribution(out, (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+  }
+
+  private static double millis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
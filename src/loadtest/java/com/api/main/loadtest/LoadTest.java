@@ -0,0 +1,334 @@
+package com.api.main.loadtest;
+
+import com.api.main.Application;
+import com.api.main.entity.User;
+import com.api.main.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+ * Open-model load test for the authentication endpoints.
+ * Starts the application on a random port with the test configuration (H2, no
+ * TLS; any spring.* property can be overridden on the command line, e.g. a
+ * PostgreSQL spring.datasource.url), seeds users, then sends requests at a fixed
+ * arrival rate regardless of how fast the server answers:
+ * - login: POST /auth/login as a seeded session user; the token is kept for logout
+ * - me: GET /users/me with the long-lived token of a seeded user
+ * - create: POST /users/create as the seeded admin, with a fresh username
+ * - logout: POST /users/logout with a token from an earlier login arrival
+ * Logout revokes every token of the user, so the users behind "me" never log
+ * out, and the other queued tokens of a session user are dropped when it does.
+ * Requests sent during the warmup are not recorded. Latency is measured from
+ * each request's scheduled start, so a server that falls behind shows up in the
+ * tail instead of slowing the arrivals down.
+ * Options are loadtest.* properties passed as --loadtest.<name>=<value>; the
+ * report (report.json plus one .hgrm distribution per endpoint) is written to
+ * loadtest.report-dir.
+ */
+public final class LoadTest {
+
+  private static final String PASSWORD = "LoadTest1!pass";
+  private static final String USER_PREFIX = "loadtest-user-";
+  private static final String SESSION_PREFIX = "loadtest-session-";
+  private static final String ADMIN = "loadtest-admin";
+  private static final String DEFAULT_MIX = "login=20,me=60,create=10,logout=10";
+
+  private final HttpClient client =
+      HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ConcurrentLinkedQueue<Session> sessions = new ConcurrentLinkedQueue<>();
+  private final AtomicLong created = new AtomicLong();
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private final String baseUrl;
+  private final Duration timeout;
+  private final int users;
+  private final List<String> userTokens = new ArrayList<>();
+  private String adminToken;
+
+  private LoadTest(String baseUrl, Duration timeout, int users) {
+    this.baseUrl = baseUrl;
+    this.timeout = timeout;
+    this.users = users;
+  }
+
+  public static void main(String[] args) throws Exception {
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(Application.class)
+            .properties(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                // All traffic comes from one address; measure the endpoints, not the limiter
+                "security.login-rate-limit.enabled=false")
+            .run(args);
+    try {
+      Environment env = context.getEnvironment();
+      double rate = env.getProperty("loadtest.rate", Double.class, 20.0);
+      long warmupSeconds = env.getProperty("loadtest.warmup", Long.class, 10L);
+      long durationSeconds = env.getProperty("loadtest.duration", Long.class, 30L);
+      int users = env.getProperty("loadtest.users", Integer.class, 20);
+      long seed = env.getProperty("loadtest.seed", Long.class, 42L);
+      Duration timeout =
+          Duration.ofMillis(env.getProperty("loadtest.timeout", Long.class, 10000L));
+      Map<String, Integer> mix = parseMix(env.getProperty("loadtest.mix", DEFAULT_MIX));
+      Path reportDir = Path.of(env.getProperty("loadtest.report-dir", "target/loadtest"));
+
+      LoadTest loadTest =
+          new LoadTest(
+              "http://localhost:" + env.getRequiredProperty("local.server.port"), timeout, users);
+      loadTest.seed(
+          context.getBean(UserRepository.class), context.getBean(PasswordEncoder.class));
+
+      Map<String, EndpointStats> stats = new LinkedHashMap<>();
+      mix.keySet().forEach(name -> stats.put(name, new EndpointStats(name)));
+      Instant startedAt = Instant.now();
+      loadTest.run(rate, warmupSeconds, durationSeconds, mix, stats, new Random(seed));
+
+      Map<String, Object> report = new LinkedHashMap<>();
+      report.put("startedAt", startedAt.toString());
+      report.put("rate", rate);
+      report.put("warmupSeconds", warmupSeconds);
+      report.put("durationSeconds", durationSeconds);
+      report.put("users", users);
+      report.put("mix", mix);
+      Map<String, Object> endpoints = new LinkedHashMap<>();
+      Files.createDirectories(reportDir);
+      for (EndpointStats endpoint : stats.values()) {
+        endpoints.put(endpoint.name(), endpoint.finish(durationSeconds));
+        endpoint.writeDistribution(reportDir);
+      }
+      report.put("endpoints", endpoints);
+      Path reportFile = reportDir.resolve("report.json");
+      loadTest
+          .objectMapper
+          .writerWithDefaultPrettyPrinter()
+          .writeValue(reportFile.toFile(), report);
+      printSummary(endpoints, reportFile);
+    } finally {
+      context.close();
+    }
+  }
+
+  /*
+   * Create the seeded users, session users and admin if missing, and log the
+   * users and admin in once.
+   * @param userRepository Repository of the started application
+   * @param passwordEncoder The application's encoder, so logins verify as usual
+   *
+   */
+  private void seed(UserRepository userRepository, PasswordEncoder passwordEncoder)
+      throws IOException, InterruptedException {
+    String passwordHash = passwordEncoder.encode(PASSWORD);
+    List<User> missing = new ArrayList<>();
+    for (int i = 0; i < users; i++) {
+      for (String username : List.of(USER_PREFIX + i, SESSION_PREFIX + i)) {
+        if (userRepository.findByUsername(username).isEmpty()) {
+          missing.add(new User(username, username + "@loadtest.example", passwordHash, "USER"));
+        }
+      }
+    }
+    if (userRepository.findByUsername(ADMIN).isEmpty()) {
+      missing.add(new User(ADMIN, ADMIN + "@loadtest.example", passwordHash, "ADMIN"));
+    }
+    userRepository.saveAll(missing);
+
+    adminToken = requireToken(login(ADMIN));
+    for (int i = 0; i < users; i++) {
+      userTokens.add(requireToken(login(USER_PREFIX + i)));
+    }
+  }
+
+  /*
+   * Send arrivals at a fixed rate, each on its own virtual thread, and wait for
+   * the last responses.
+   *
+   */
+  private void run(
+      double rate,
+      long warmupSeconds,
+      long durationSeconds,
+      Map<String, Integer> mix,
+      Map<String, EndpointStats> stats,
+      Random random) {
+    List<String> weighted = new ArrayList<>();
+    mix.forEach((name, weight) -> weighted.addAll(Collections.nCopies(weight, name)));
+    long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    long start = System.nanoTime();
+    long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+    long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long intended = start; intended < end; intended += interval) {
+        long wait = intended - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        String endpoint = weighted.get(random.nextInt(weighted.size()));
+        int user = random.nextInt(users);
+        EndpointStats target = intended >= measureFrom ? stats.get(endpoint) : null;
+        long scheduled = intended;
+        executor.execute(() -> send(endpoint, user, scheduled, target));
+      }
+    }
+  }
+
+  private void send(String endpoint, int user, long intendedNanos, EndpointStats stats) {
+    boolean success;
+    try {
+      HttpResponse<String> response = call(endpoint, user);
+      if (response == null) {
+        if (stats != null) {
+          stats.skip();
+        }
+        return;
+      }
+      success = response.statusCode() / 100 == 2;
+    } catch (IOException e) {
+      success = false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      success = false;
+    }
+    if (stats != null) {
+      stats.record(System.nanoTime() - intendedNanos, success);
+    }
+  }
+
+  private HttpResponse<String> call(String endpoint, int user)
+      throws IOException, InterruptedException {
+    return switch (endpoint) {
+      case "login" -> {
+        String username = SESSION_PREFIX + user;
+        HttpResponse<String> response = login(username);
+        String token = token(response);
+        if (token != null) {
+          sessions.add(new Session(username, token));
+        }
+        yield response;
+      }
+      case "me" -> send(request("/users/me", userTokens.get(user)).GET());
+      case "create" -> {
+        String username = "lt-" + runId + "-" + created.incrementAndGet();
+        yield send(
+            request("/users/create", adminToken)
+                .POST(
+                    json(
+                        Map.of(
+                            "username", username,
+                            "email", username + "@loadtest.example",
+                            "password", PASSWORD,
+                            "role", "USER"))));
+      }
+      case "logout" -> {
+        Session session = sessions.poll();
+        if (session == null) {
+          yield null;
+        }
+        sessions.removeIf(other -> other.username().equals(session.username()));
+        yield send(
+            request("/users/logout", session.token()).POST(HttpRequest.BodyPublishers.noBody()));
+      }
+      default ->
+          throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + endpoint);
+    };
+  }
+
+  private HttpResponse<String> login(String username) throws IOException, InterruptedException {
+    return send(
+        request("/auth/login", null)
+            .POST(json(Map.of("username", username, "password", PASSWORD))));
+  }
+
+  private HttpRequest.Builder request(String path, String token) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(timeout)
+            .header("Content-Type", "application/json");
+    return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+  }
+
+  private HttpRequest.BodyPublisher json(Object body) throws IOException {
+    return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private String token(HttpResponse<String> response) throws IOException {
+    if (response.statusCode() != 200) {
+      return null;
+    }
+    return objectMapper.readTree(response.body()).path("token").asText(null);
+  }
+
+  private String requireToken(HttpResponse<String> response) throws IOException {
+    String token = token(response);
+    if (token == null) {
+      throw new IllegalStateException(
+          "Seed login failed: " + response.statusCode() + " " + response.body());
+    }
+    return token;
+  }
+
+  private static Map<String, Integer> parseMix(String mix) {
+    Map<String, Integer> weights = new LinkedHashMap<>();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split("=");
+      weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+    }
+    return weights;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void printSummary(Map<String, Object> endpoints, Path reportFile) {
+    System.out.printf(
+        "%-8s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "errors", "skipped", "req/s", "p50 ms", "p99 ms", "p99.9 ms",
+        "max ms");
+    endpoints.forEach(
+        (name, value) -> {
+          Map<String, Object> endpoint = (Map<String, Object>) value;
+          Map<String, Object> latency = (Map<String, Object>) endpoint.get("latencyMillis");
+          System.out.printf(
+              "%-8s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+              name,
+              endpoint.get("requests"),
+              endpoint.get("errors"),
+              endpoint.get("skipped"),
+              endpoint.get("throughput"),
+              latency.get("p50"),
+              latency.get("p99"),
+              latency.get("p99.9"),
+              latency.get("max"));
+        });
+    System.out.println("Report written to " + reportFile.toAbsolutePath());
+  }
+
+  private record Session(String username, String token) {}
+}
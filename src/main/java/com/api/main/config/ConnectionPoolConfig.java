@@ -0,0 +1,76 @@
+package com.api.main.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/*
+ * Sizes the Hikari connection pool before it opens its first connection.
+ * With db.pool.size=0 the size is derived from the core count using the
+ * (cores * 2) + 1 rule of thumb, capped at db.pool.expected-concurrency: a pool
+ * larger than the number of requests that can use it at once only adds idle
+ * connections on the database server. The pool never has fewer than two
+ * connections because Flyway holds two while it migrates at startup.
+ * An explicit spring.datasource.hikari.maximum-pool-size wins over both
+ * db.pool.* settings and is left untouched.
+ * The acquisition timeout, statement caching and metrics are plain
+ * spring.datasource.hikari.* and management.* properties.
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(ConnectionPoolConfig.class);
+
+  private static final int MINIMUM_POOL_SIZE = 2;
+
+  static final String MAXIMUM_POOL_SIZE_PROPERTY = "spring.datasource.hikari.maximum-pool-size";
+
+  @Bean
+  public static BeanPostProcessor connectionPoolSizer(
+      @Value("${db.pool.size:0}") int configuredSize,
+      @Value("${db.pool.expected-concurrency:64}") int expectedConcurrency,
+      Environment environment) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+          if (environment.containsProperty(MAXIMUM_POOL_SIZE_PROPERTY)) {
+            log.info(
+                "Connection pool {} keeps its configured {} of {} connections",
+                hikari.getPoolName(),
+                MAXIMUM_POOL_SIZE_PROPERTY,
+                hikari.getMaximumPoolSize());
+            return bean;
+          }
+          int cores = Runtime.getRuntime().availableProcessors();
+          int size = poolSize(configuredSize, expectedConcurrency, cores);
+          hikari.setMaximumPoolSize(size);
+          log.info(
+              "Connection pool {} sized to {} connections (acquire timeout {} ms)",
+              hikari.getPoolName(),
+              size,
+              hikari.getConnectionTimeout());
+        }
+        return bean;
+      }
+    };
+  }
+
+  /*
+   * Compute the maximum pool size.
+   * @param configuredSize Explicit size, or 0 to derive it
+   * @param expectedConcurrency Upper bound for a derived size
+   * @param cores Available processors
+   * @return The pool size, at least MINIMUM_POOL_SIZE
+   *
+   */
+  static int poolSize(int configuredSize, int expectedConcurrency, int cores) {
+    int size = configuredSize > 0 ? configuredSize : Math.min(cores * 2 + 1, expectedConcurrency);
+    return Math.max(MINIMUM_POOL_SIZE, size);
+  }
+}
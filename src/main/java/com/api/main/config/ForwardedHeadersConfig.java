@@ -0,0 +1,52 @@
+package com.api.main.config;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties.ForwardHeadersStrategy;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/*
+ * Refuses to start when forwarded headers are trusted from an implicit set of proxies.
+ * server.forward-headers-strategy defaults to none. With native, Tomcat takes the
+ * client address from X-Forwarded-For on connections from
+ * server.tomcat.remoteip.internal-proxies, whose built-in default is every private
+ * and loopback range: any host on the internal network could then choose the IP
+ * the login rate limiter sees. The pattern must therefore be set explicitly.
+ * framework trusts the headers from every connection and is rejected outright.
+ */
+@Configuration
+public class ForwardedHeadersConfig {
+
+  static final String STRATEGY_PROPERTY = "server.forward-headers-strategy";
+  static final String INTERNAL_PROXIES_PROPERTY = "server.tomcat.remoteip.internal-proxies";
+
+  public ForwardedHeadersConfig(Environment environment) {
+    check(environment);
+  }
+
+  /*
+   * Validate the forwarded-header settings.
+   * @param environment The application environment
+   * @throws IllegalStateException if the headers would be trusted without an
+   *         explicit internal-proxies pattern
+   *
+   */
+  static void check(Environment environment) {
+    ForwardHeadersStrategy strategy =
+        Binder.get(environment)
+            .bind(STRATEGY_PROPERTY, ForwardHeadersStrategy.class)
+            .orElse(ForwardHeadersStrategy.NONE);
+    if (strategy == ForwardHeadersStrategy.FRAMEWORK) {
+      throw new IllegalStateException(
+          STRATEGY_PROPERTY + "=framework trusts forwarded headers from any client; use native");
+    }
+    if (strategy == ForwardHeadersStrategy.NATIVE
+        && environment.getProperty(INTERNAL_PROXIES_PROPERTY, "").isBlank()) {
+      throw new IllegalStateException(
+          STRATEGY_PROPERTY
+              + "=native requires an explicit "
+              + INTERNAL_PROXIES_PROPERTY
+              + " pattern matching only the load balancer addresses");
+    }
+  }
+}
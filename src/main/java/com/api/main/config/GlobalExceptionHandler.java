@@ -1,8 +1,21 @@
 package com.api.main.config;
 
+import com.api.main.constants.Constants;
+import com.api.main.dto.BulkCreateResponse;
+import com.api.main.dto.ErrorResponse;
+import com.api.main.dto.StaticResponse;
+import com.api.main.exceptions.BadRequestException;
+import com.api.main.exceptions.BulkProvisioningException;
+import com.api.main.exceptions.ServiceUnavailableException;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,12 +24,22 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * Global exception handler for the application.
  * Catches and processes validation exceptions across all controllers.
  * Returns structured error responses with field-level validation messages.
+ * Maps load-shedding exceptions, and database failures caused by the connection
+ * pool timing out, to 503 with a Retry-After header. This is the only place pool
+ * timeouts are recognised: controllers catch OperationRejectedException, never a
+ * bare RuntimeException, so database failures always reach this handler.
+ * Maps BadRequestException to 400 for endpoints that cannot return an error body directly.
+ * Returns the progress of a bulk provisioning request that failed part way,
+ * with 503 when the failure was load shedding or a pool timeout and 500 otherwise.
  * Ensures consistent error format for API clients.
  * Uses @ControllerAdvice to apply globally to all request mappings.
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+  @Value("${db.pool.retry-after:1}")
+  private long poolRetryAfterSeconds;
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String, Object>> handleValidationExceptions(
       MethodArgumentNotValidException ex) {
@@ -33,4 +56,44 @@ public class GlobalExceptionHandler {
 
     return ResponseEntity.badRequest().body(response);
   }
+
+  @ExceptionHandler(BadRequestException.class)
+  public ResponseEntity<ErrorResponse> handleBadRequest(BadRequestException ex) {
+    return ResponseEntity.badRequest().body(new ErrorResponse(Constants.ERROR, ex.getMessage()));
+  }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<byte[]> handleServiceUnavailable(ServiceUnavailableException ex) {
+    return StaticResponse.SERVICE_UNAVAILABLE.withHeader(
+        HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+  }
+
+  @ExceptionHandler(BulkProvisioningException.class)
+  public ResponseEntity<BulkCreateResponse> handleBulkProvisioningFailure(
+      BulkProvisioningException ex) {
+    if (ex.getCause() instanceof ServiceUnavailableException shed) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(shed.getRetryAfterSeconds()))
+          .body(ex.getProgress());
+    }
+    if (ServiceUnavailableException.isConnectionPoolTimeout(ex)) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(poolRetryAfterSeconds))
+          .body(ex.getProgress());
+    }
+    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getProgress());
+  }
+
+  @ExceptionHandler({
+    DataAccessException.class,
+    TransactionException.class,
+    InternalAuthenticationServiceException.class
+  })
+  public ResponseEntity<byte[]> handleDatabaseFailure(RuntimeException ex) {
+    if (ServiceUnavailableException.isConnectionPoolTimeout(ex)) {
+      return StaticResponse.SERVICE_UNAVAILABLE.withHeader(
+          HttpHeaders.RETRY_AFTER, String.valueOf(poolRetryAfterSeconds));
+    }
+    return StaticResponse.INTERNAL_SERVER_ERROR.entity();
+  }
 }
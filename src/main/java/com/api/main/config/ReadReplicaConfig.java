@@ -0,0 +1,80 @@
+package com.api.main.config;
+
+import com.api.main.services.ReplicaPinning;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/*
+ * Routes read-only transactions to read replicas when db.replica.urls lists
+ * one or more JDBC URLs; without it the auto-configured DataSource is used.
+ * The application DataSource is a LazyConnectionDataSourceProxy over the primary
+ * pool: a connection is only taken when the first statement runs, after Spring
+ * has marked the transaction read-only, and read-only connections come from
+ * ReplicaRoutingDataSource. Read-write transactions, Flyway and non-transactional
+ * work always use the primary.
+ * Replica pools use the primary's credentials, size and driver properties, are
+ * read-only, and do not fail startup when a replica is down.
+ */
+@Configuration
+@ConditionalOnExpression("!'${db.replica.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      DataSourceProperties properties,
+      ReplicaPinning replicaPinning,
+      MeterRegistry meterRegistry,
+      @Value("${db.replica.urls}") String urls,
+      @Value("${db.replica.connection-timeout:250}") long connectionTimeoutMillis,
+      @Value("${db.replica.retry-interval:5000}") long retryIntervalMillis) {
+    List<HikariDataSource> replicas = new ArrayList<>();
+    List<String> replicaUrls =
+        Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+    for (int i = 0; i < replicaUrls.size(); i++) {
+      HikariDataSource replica = new HikariDataSource();
+      replica.setPoolName("replica-" + (i + 1));
+      replica.setJdbcUrl(replicaUrls.get(i));
+      replica.setDriverClassName(properties.determineDriverClassName());
+      replica.setUsername(properties.determineUsername());
+      replica.setPassword(properties.determinePassword());
+      replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+      replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+      replica.setConnectionTimeout(connectionTimeoutMillis);
+      replica.setInitializationFailTimeout(-1);
+      replica.setReadOnly(true);
+      replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.add(replica);
+    }
+    return new ReplicaRoutingDataSource(
+        primaryDataSource, replicas, replicaPinning, retryIntervalMillis, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+    dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+    return dataSource;
+  }
+}
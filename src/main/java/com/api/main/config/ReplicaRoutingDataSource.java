@@ -0,0 +1,104 @@
+package com.api.main.config;
+
+import com.api.main.services.ReplicaPinning;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/*
+ * DataSource for read-only transactions that spreads connections over the
+ * replica pools round-robin.
+ * A replica that fails to hand out a connection within its (short) pool timeout
+ * is skipped for db.replica.retry-interval; when no replica is available, or the
+ * current read is pinned by ReplicaPinning, the connection comes from the
+ * primary instead. Fallbacks are counted in db.replica.fallbacks.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final ReplicaPinning replicaPinning;
+  private final long retryIntervalMillis;
+  private final Counter fallbacks;
+  private final AtomicInteger next = new AtomicInteger();
+
+  /*
+   * Constructor with parameters
+   * @param primary DataSource used when no replica can serve the read
+   * @param replicas One pool per replica
+   * @param replicaPinning Decides when a read must see the primary
+   * @param retryIntervalMillis How long a failed replica is skipped
+   * @param meterRegistry Registry for the fallback counter
+   *
+   */
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<HikariDataSource> replicas,
+      ReplicaPinning replicaPinning,
+      long retryIntervalMillis,
+      MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicas = replicas.stream().map(Replica::new).toList();
+    this.replicaPinning = replicaPinning;
+    this.retryIntervalMillis = retryIntervalMillis;
+    this.fallbacks =
+        Counter.builder("db.replica.fallbacks")
+            .description("Read-only connections served by the primary because no replica was up")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (replicaPinning.isPrimaryRequired()) {
+      return primary.getConnection();
+    }
+    long now = System.currentTimeMillis();
+    int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get((start + i) % replicas.size());
+      if (replica.downUntil.get() > now) {
+        continue;
+      }
+      try {
+        return replica.dataSource.getConnection();
+      } catch (SQLException e) {
+        replica.downUntil.set(now + retryIntervalMillis);
+        log.warn(
+            "Replica {} unavailable, reading from the primary for {} ms: {}",
+            replica.dataSource.getPoolName(),
+            retryIntervalMillis,
+            e.getMessage());
+      }
+    }
+    fallbacks.increment();
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+  }
+
+  @Override
+  public void close() {
+    replicas.forEach(replica -> replica.dataSource.close());
+  }
+
+  private record Replica(HikariDataSource dataSource, AtomicLong downUntil) {
+    Replica(HikariDataSource dataSource) {
+      this(dataSource, new AtomicLong());
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.api.main.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+ * Enables @Scheduled background jobs such as expired-token purging.
+ * Jobs that must run on a single instance coordinate through JobLockService.
+ * The scheduler gets spring.task.scheduling.pool.size threads rather than
+ * Spring's single default thread: a purge run can hold its lease for minutes,
+ * pausing between batches, and must not delay revocation-list pruning or the
+ * token gauges. With virtual threads enabled every run gets its own thread.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
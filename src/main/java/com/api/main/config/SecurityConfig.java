@@ -1,7 +1,23 @@
 package com.api.main.config;
 
-import jakarta.servlet.http.HttpServletResponse;
+import com.api.main.dto.StaticResponse;
+import com.api.main.security.AdaptivePasswordEncoder;
+import com.api.main.security.AuthenticationPhases;
+import com.api.main.security.BearerTokenAuthenticationFilter;
+import com.api.main.security.LoginRateLimitFilter;
+import com.api.main.security.LoginRateLimiter;
+import com.api.main.security.OffloadingPasswordEncoder;
+import com.api.main.security.PasswordCostCalibrator;
+import com.api.main.security.PasswordHashExecutor;
+import com.api.main.services.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,18 +27,26 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /*
  * Main security configuration for the application.
  * Configures Spring Security with stateless authentication.
  * Defines authorization rules for endpoints:
- * - Public: /auth/login, /health
+ * - Public: /auth/login, /health (/live, /ready), /actuator/prometheus (served on the
+ *   loopback-bound management port in production)
  * - Protected: All other endpoints require authentication
- * Uses BCrypt for password hashing with secure work factor.
+ * Authenticates requests with "Authorization: Bearer" tokens issued at login,
+ * resolved with a single indexed lookup; HTTP Basic remains as a fallback.
+ * Uses BCrypt (or PBKDF2) for password hashing with a configurable, optionally
+ * calibrated work factor; hashes that drift from the target are rehashed on login.
+ * Hashing runs on a bounded PasswordHashExecutor, shedding load with 503 when full.
+ * Login attempts over the per-IP or per-username budget are rejected with 429 by
+ * LoginRateLimitFilter before any authentication filter runs.
  * Disables CSRF as the API is stateless (token-based).
  * Enforces HTTPS when SSL is enabled.
  */
@@ -31,25 +55,85 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+  private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
   private final UserDetailsService userDetailsService;
+  private final TokenService tokenService;
+  private final PasswordHashExecutor passwordHashExecutor;
+  private final LoginRateLimiter loginRateLimiter;
+  private final MeterRegistry meterRegistry;
 
   @Value("${server.ssl.enabled:true}")
   private boolean sslEnabled;
 
-  public SecurityConfig(UserDetailsService userDetailsService) {
+  @Value("${security.password.algorithm:bcrypt}")
+  private String passwordAlgorithm;
+
+  @Value("${security.password.bcrypt-strength:10}")
+  private int bcryptStrength;
+
+  @Value("${security.password.pbkdf2-iterations:310000}")
+  private int pbkdf2Iterations;
+
+  @Value("${security.password.calibrate:false}")
+  private boolean calibratePasswordCost;
+
+  @Value("${security.password.target-latency:50}")
+  private long passwordTargetLatencyMillis;
+
+  @Value("${db.pool.retry-after:1}")
+  private long poolRetryAfterSeconds;
+
+  @Value("${security.login-rate-limit.enabled:true}")
+  private boolean loginRateLimitEnabled;
+
+  public SecurityConfig(
+      UserDetailsService userDetailsService,
+      TokenService tokenService,
+      PasswordHashExecutor passwordHashExecutor,
+      LoginRateLimiter loginRateLimiter,
+      MeterRegistry meterRegistry) {
     this.userDetailsService = userDetailsService;
+    this.tokenService = tokenService;
+    this.passwordHashExecutor = passwordHashExecutor;
+    this.loginRateLimiter = loginRateLimiter;
+    this.meterRegistry = meterRegistry;
   }
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    int strength = bcryptStrength;
+    int iterations = pbkdf2Iterations;
+    if (calibratePasswordCost) {
+      Duration budget = Duration.ofMillis(passwordTargetLatencyMillis);
+      if (AdaptivePasswordEncoder.PBKDF2.equals(passwordAlgorithm)) {
+        iterations = PasswordCostCalibrator.calibratePbkdf2(budget);
+      } else {
+        strength = PasswordCostCalibrator.calibrateBcrypt(budget);
+      }
+      log.info(
+          "Calibrated password hashing for {} ms: bcrypt strength {}, pbkdf2 iterations {}",
+          passwordTargetLatencyMillis,
+          strength,
+          iterations);
+    }
+    return new OffloadingPasswordEncoder(
+        new AdaptivePasswordEncoder(passwordAlgorithm, strength, iterations),
+        passwordHashExecutor);
   }
 
   @Bean
   public DaoAuthenticationProvider authenticationProvider() {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-    authProvider.setUserDetailsService(userDetailsService);
-    authProvider.setPasswordEncoder(passwordEncoder());
+    // Timed separately so a login's database time and hashing time can be told apart
+    authProvider.setUserDetailsService(
+        AuthenticationPhases.timedLookup(userDetailsService, meterRegistry));
+    authProvider.setPasswordEncoder(
+        AuthenticationPhases.timedMatches(passwordEncoder(), meterRegistry));
+    if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+      // Rehash on successful login when the stored algorithm or cost differs from the target
+      authProvider.setUserDetailsPasswordService(passwordService);
+    }
     return authProvider;
   }
 
@@ -63,7 +147,13 @@ public class SecurityConfig {
     http.csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(
             auth ->
-                auth.requestMatchers("/auth/login", "/health")
+                // Streamed exports finish with an ASYNC dispatch; the request was already
+                // authorized and the stateless chain has no authentication to check again
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .requestMatchers("/auth/login", "/health", "/health/live", "/health/ready")
+                    .permitAll()
+                    .requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class))
                     .permitAll()
                     .anyRequest()
                     .authenticated())
@@ -72,24 +162,22 @@ public class SecurityConfig {
         .exceptionHandling(
             ex ->
                 ex.authenticationEntryPoint(
-                        (request, response, authException) -> {
-                          response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                          response.setContentType("application/json");
-                          response
-                              .getWriter()
-                              .write("{\"status\":\"error\",\"message\":\"Unauthorized\"}");
-                        })
+                        (request, response, authException) ->
+                            StaticResponse.UNAUTHORIZED.write(response))
                     .accessDeniedHandler(
-                        (request, response, accessDeniedException) -> {
-                          response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                          response.setContentType("application/json");
-                          response
-                              .getWriter()
-                              .write("{\"status\":\"error\",\"message\":\"Access denied\"}");
-                        }))
+                        (request, response, accessDeniedException) ->
+                            StaticResponse.ACCESS_DENIED.write(response)))
         .authenticationProvider(authenticationProvider())
+        .addFilterBefore(
+            new BearerTokenAuthenticationFilter(tokenService, poolRetryAfterSeconds),
+            BasicAuthenticationFilter.class)
         .httpBasic(basic -> basic.realmName("Secure API"));
 
+    if (loginRateLimitEnabled) {
+      http.addFilterBefore(
+          new LoginRateLimitFilter(loginRateLimiter), BearerTokenAuthenticationFilter.class);
+    }
+
     if (sslEnabled) {
       http.requiresChannel(channel -> channel.anyRequest().requiresSecure());
     }
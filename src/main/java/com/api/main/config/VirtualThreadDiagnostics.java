@@ -0,0 +1,147 @@
+package com.api.main.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+/*
+ * Startup checks and carrier-thread pinning diagnostics for virtual-thread mode.
+ * Active only when spring.threads.virtual.enabled=true, which runs Tomcat request
+ * handling, and therefore @Transactional service calls, on virtual threads.
+ * At startup it reports the JDBC driver and connection-pool limits: with virtual
+ * threads, the Hikari pool size, not the thread count, bounds database concurrency.
+ * At runtime it streams JFR jdk.VirtualThreadPinned events into Micrometer,
+ * tagged by where the pinning happened (jdbc, application or other), and logs
+ * each distinct pinning site once.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDiagnostics {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int MAX_LOGGED_SITES = 100;
+  private static final List<String> JDBC_PACKAGES =
+      List.of("org.postgresql.", "com.zaxxer.hikari.", "org.h2.", "java.sql.", "org.hibernate.");
+
+  private final MeterRegistry meterRegistry;
+  private final DataSource dataSource;
+  private final Set<String> loggedSites = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+  @Value("${diagnostics.virtual-threads.pinning-threshold:20}")
+  private long pinningThresholdMillis;
+
+  private RecordingStream recordingStream;
+
+  public VirtualThreadDiagnostics(MeterRegistry meterRegistry, DataSource dataSource) {
+    this.meterRegistry = meterRegistry;
+    this.dataSource = dataSource;
+  }
+
+  @PostConstruct
+  public void start() {
+    checkEnvironment();
+
+    recordingStream = new RecordingStream();
+    recordingStream
+        .enable(PINNED_EVENT)
+        .withThreshold(Duration.ofMillis(pinningThresholdMillis))
+        .withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    recordingStream.startAsync();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (recordingStream != null) {
+      recordingStream.close();
+    }
+  }
+
+  private void checkEnvironment() {
+    log.info("Virtual-thread request handling enabled on Java {}", Runtime.version());
+    DriverManager.drivers()
+        .filter(driver -> driver.getClass().getName().startsWith("org.postgresql"))
+        .findFirst()
+        .ifPresent(this::checkPostgresDriver);
+
+    HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+    if (hikari != null) {
+      log.info(
+          "Database concurrency is bounded by the connection pool (maximum-pool-size={}, "
+              + "connection-timeout={} ms), not by the request thread count",
+          hikari.getMaximumPoolSize(),
+          hikari.getConnectionTimeout());
+    }
+  }
+
+  private void checkPostgresDriver(Driver driver) {
+    // pgjdbc 42.6 replaced synchronized blocks with locks that do not pin carrier threads
+    boolean pins =
+        driver.getMajorVersion() < 42
+            || (driver.getMajorVersion() == 42 && driver.getMinorVersion() < 6);
+    if (pins) {
+      log.warn(
+          "PostgreSQL JDBC driver {}.{} pins carrier threads in synchronized sections; "
+              + "upgrade to 42.6 or later before enabling virtual threads",
+          driver.getMajorVersion(),
+          driver.getMinorVersion());
+    }
+  }
+
+  private void onPinned(RecordedEvent event) {
+    String source = "other";
+    String site = "unknown";
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    if (stackTrace != null) {
+      for (RecordedFrame frame : stackTrace.getFrames()) {
+        if (!frame.isJavaFrame()) {
+          continue;
+        }
+        String type = frame.getMethod().getType().getName();
+        if (JDBC_PACKAGES.stream().anyMatch(type::startsWith)) {
+          source = "jdbc";
+          site = type + "." + frame.getMethod().getName();
+          break;
+        }
+        if (type.startsWith("com.api.main.")) {
+          source = "application";
+          site = type + "." + frame.getMethod().getName();
+          break;
+        }
+      }
+    }
+
+    Timer.builder("jvm.threads.virtual.pinned")
+        .description("Virtual threads pinned to their carrier longer than the threshold")
+        .tag("source", source)
+        .register(meterRegistry)
+        .record(event.getDuration());
+
+    if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+      log.warn("Virtual thread pinned for {} at {} ({})", event.getDuration(), site, source);
+    }
+  }
+}
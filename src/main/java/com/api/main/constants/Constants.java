@@ -14,12 +14,66 @@ public class Constants {
    * Hibernate binds these parameters safely, preventing SQL injection attacks.
    * User input is never directly interpolated into the query string.
    */
-  public static final String ADDING_TOKEN_QUERY =
-      "UPDATE Token t SET t.revoked = true WHERE t.username = :username AND t.revoked = false";
+  public static final String ACTIVE_TOKEN_PRINCIPAL_QUERY =
+      "SELECT new com.api.main.security.TokenPrincipal(t.username, u.role, t.expiresAt)"
+          + " FROM Token t JOIN User u ON u.username = t.username"
+          + " WHERE t.tokenHash = :tokenHash AND t.revoked = false AND t.expiresAt > :now"
+          + " AND u.enabled = true"
+          + " AND (u.tokensValidAfter IS NULL OR t.createdAt > u.tokensValidAfter)";
 
   public static final String DELETING_TOKEN_QUERY =
       "DELETE FROM Token t WHERE t.expiresAt < CURRENT_TIMESTAMP";
 
+  public static final String EXPIRED_TOKEN_IDS_QUERY =
+      "SELECT t.id FROM Token t WHERE t.expiresAt < :now ORDER BY t.id";
+
+  public static final String DELETING_EXPIRED_TOKEN_RANGE_QUERY =
+      "DELETE FROM Token t WHERE t.id BETWEEN :fromId AND :toId AND t.expiresAt < :now";
+
+  public static final String COUNTING_ACTIVE_TOKENS_QUERY =
+      "SELECT COUNT(t) FROM Token t WHERE t.revoked = false AND t.expiresAt > :now";
+
+  public static final String ACQUIRING_JOB_LOCK_QUERY =
+      "UPDATE JobLock l SET l.lockedUntil = :until, l.lockedBy = :owner"
+          + " WHERE l.name = :name AND (l.lockedUntil < :now OR l.lockedBy = :owner)";
+
+  public static final String RELEASING_JOB_LOCK_QUERY =
+      "UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner";
+
+  public static final String UPDATING_PASSWORD_HASH_QUERY =
+      "UPDATE User u SET u.passwordHash = :passwordHash WHERE u.username = :username";
+
+  public static final String USER_PROFILE_QUERY =
+      "SELECT new com.api.main.dto.UserProfileView(u.id, u.username, u.email, u.role,"
+          + " u.tokensValidAfter, u.lastTokenIssuedAt)"
+          + " FROM User u WHERE u.username = :username";
+
+  public static final String TOKEN_WATERMARK_QUERY =
+      "SELECT new com.api.main.security.TokenWatermark(u.username, u.tokensValidAfter,"
+          + " u.lastTokenIssuedAt) FROM User u WHERE u.username = :username";
+
+  public static final String TOKEN_WATERMARKS_SINCE_QUERY =
+      "SELECT new com.api.main.security.TokenWatermark(u.username, u.tokensValidAfter,"
+          + " u.lastTokenIssuedAt) FROM User u WHERE u.tokensValidAfter > :since";
+
+  public static final String RECORDING_TOKEN_ISSUED_QUERY =
+      "UPDATE User u SET u.lastTokenIssuedAt = :issuedAt WHERE u.username = :username";
+
+  public static final String REVOKING_TOKENS_BEFORE_QUERY =
+      "UPDATE User u SET u.tokensValidAfter = :before WHERE u.username = :username";
+
+  public static final String CLEARING_LATEST_TOKEN_QUERY =
+      "UPDATE User u SET u.lastTokenIssuedAt = NULL"
+          + " WHERE u.username = :username AND u.lastTokenIssuedAt = :issuedAt";
+
+  public static final String EXISTING_USER_IDENTITIES_QUERY =
+      "SELECT new com.api.main.dto.UserIdentity(u.username, u.email) FROM User u"
+          + " WHERE u.username IN :usernames OR u.email IN :emails";
+
+  public static final String USERS_AFTER_ID_QUERY =
+      "SELECT new com.api.main.dto.UserSummary(u.id, u.username, u.email, u.role) FROM User u"
+          + " WHERE u.id > :afterId ORDER BY u.id";
+
   public static final String USER_NOT_FOUND_MESSAGE = "User not found: ";
 
   public static final String ROLE = "ROLE_";
@@ -32,6 +86,10 @@ public class Constants {
 
   public static final String UNAUTHORIZED_MESSAGE = "Unauthorized access attempt";
 
+  public static final String UNAUTHORIZED = "Unauthorized";
+
+  public static final String ACCESS_DENIED = "Access denied";
+
   public static final String STATUS = "status";
 
   public static final String SUCCESS = "success";
@@ -42,11 +100,21 @@ public class Constants {
 
   public static final String ERROR = "error";
 
-  public static final String LOGOUT_FAILED = "Logout failed";
+  public static final String UNSUPPORTED_EXPORT_FORMAT = "Unsupported export format";
 
   public static final String UP = "UP";
 
+  public static final String DOWN = "DOWN";
+
   public static final String INVALID_CREDENTIALS = "Invalid credentials";
 
   public static final String INTERNAL_SERVER_ERROR = "Internal server error";
+
+  public static final String SERVICE_UNAVAILABLE = "Service temporarily unavailable";
+
+  public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many login attempts";
+
+  public static final String LOGIN_BODY_TOO_LARGE = "Login request too large";
+
+  public static final String MALFORMED_REQUEST_BODY = "Malformed request body";
 }
@@ -1,9 +1,8 @@
 package com.api.main.controllers;
 
-import com.api.main.constants.Constants;
-import com.api.main.dto.ErrorResponse;
 import com.api.main.dto.LoginRequest;
 import com.api.main.dto.LoginResponse;
+import com.api.main.dto.StaticResponse;
 import com.api.main.services.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -32,11 +31,7 @@ public class AuthController {
       LoginResponse response = authService.authenticate(request);
       return ResponseEntity.ok(response);
     } catch (BadCredentialsException e) {
-      return ResponseEntity.status(401)
-          .body(new ErrorResponse(Constants.ERROR, Constants.INVALID_CREDENTIALS));
-    } catch (Exception e) {
-      return ResponseEntity.status(500)
-          .body(new ErrorResponse(Constants.ERROR, Constants.INTERNAL_SERVER_ERROR));
+      return StaticResponse.INVALID_CREDENTIALS.entity();
     }
   }
 }
@@ -1,22 +1,39 @@
 package com.api.main.controllers;
 
 import com.api.main.constants.Constants;
-import com.api.main.dto.HealthResponse;
+import com.api.main.dto.StaticResponse;
+import com.api.main.services.ReadinessProbe;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /*
  * REST controller for application health monitoring.
- * Provides a public endpoint for checking API availability.
- * Used by load balancers and monitoring systems.
- * Does not require authentication for accessibility.
+ * Provides public endpoints for load balancers and monitoring systems:
+ * - /health and /health/live: liveness, UP whenever the process can serve requests
+ * - /health/ready: readiness, 503 while the database, connection pool or
+ *   password-hash executor cannot take traffic (cached, see ReadinessProbe)
+ * Does not require authentication for accessibility, so it reports only UP or DOWN;
+ * the per-check details are on the management port (see ReadinessHealthIndicator).
  */
 @RestController
 public class Health {
 
-  @GetMapping("/health")
-  public ResponseEntity<HealthResponse> healthCheck() {
-    return ResponseEntity.ok(new HealthResponse(Constants.UP));
+  private final ReadinessProbe readinessProbe;
+
+  public Health(ReadinessProbe readinessProbe) {
+    this.readinessProbe = readinessProbe;
+  }
+
+  @GetMapping({"/health", "/health/live"})
+  public ResponseEntity<byte[]> healthCheck() {
+    return StaticResponse.HEALTH_UP.entity();
+  }
+
+  @GetMapping("/health/ready")
+  public ResponseEntity<byte[]> readiness() {
+    return Constants.UP.equals(readinessProbe.current().status())
+        ? StaticResponse.HEALTH_UP.entity()
+        : StaticResponse.HEALTH_DOWN.entity();
   }
 }
@@ -1,24 +1,41 @@
 package com.api.main.controllers;
 
 import com.api.main.constants.Constants;
+import com.api.main.dto.BulkCreateResponse;
 import com.api.main.dto.CreateUserRequest;
 import com.api.main.dto.ErrorResponse;
+import com.api.main.dto.StaticResponse;
 import com.api.main.dto.UserResponse;
 import com.api.main.entity.User;
+import com.api.main.exceptions.BadRequestException;
+import com.api.main.exceptions.OperationRejectedException;
 import com.api.main.services.AuthService;
+import com.api.main.services.UserExportService;
+import com.api.main.services.UserProvisioningService;
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.Map;
+import java.util.Locale;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /*
  * REST controller for user management operations.
  * Provides endpoints for user profile access, creation, and logout.
  * Admin-only endpoints are protected with @PreAuthorize.
+ * Bulk provisioning and export stream NDJSON/CSV bodies instead of buffering them.
+ * Only OperationRejectedException is handled here; database and pool failures
+ * are mapped by GlobalExceptionHandler.
  * All endpoints require valid authentication.
  * Supports token invalidation for secure logout.
  */
@@ -27,26 +44,31 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
   private final AuthService authService;
+  private final UserProvisioningService userProvisioningService;
+  private final UserExportService userExportService;
 
-  public UserController(AuthService authService) {
+  public UserController(
+      AuthService authService,
+      UserProvisioningService userProvisioningService,
+      UserExportService userExportService) {
     this.authService = authService;
+    this.userProvisioningService = userProvisioningService;
+    this.userExportService = userExportService;
   }
 
   @GetMapping("/me")
   public ResponseEntity<?> getCurrentUser() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     if (authentication == null || !authentication.isAuthenticated()) {
-      return ResponseEntity.status(401)
-          .body(new ErrorResponse(Constants.ERROR, Constants.UNAUTHORIZED_MESSAGE));
+      return StaticResponse.UNAUTHORIZED_ACCESS.entity();
     }
 
     try {
       String username = authentication.getName();
       UserResponse userResponse = authService.getCurrentUser(username);
       return ResponseEntity.ok(userResponse);
-    } catch (RuntimeException e) {
-      return ResponseEntity.status(401)
-          .body(new ErrorResponse(Constants.ERROR, Constants.UNAUTHORIZED_MESSAGE));
+    } catch (OperationRejectedException e) {
+      return StaticResponse.UNAUTHORIZED_ACCESS.entity();
     }
   }
 
@@ -57,8 +79,7 @@ public class UserController {
     try {
       Authentication authenticationContext = SecurityContextHolder.getContext().getAuthentication();
       if (authenticationContext == null && !authenticationContext.isAuthenticated()) {
-        return ResponseEntity.status(401)
-            .body(new ErrorResponse(Constants.ERROR, Constants.UNAUTHORIZED_MESSAGE));
+        return StaticResponse.UNAUTHORIZED_ACCESS.entity();
       }
       String username = authentication.getName();
       User user =
@@ -75,28 +96,68 @@ public class UserController {
               user.getEmail(),
               Collections.singletonList(user.getRole()));
       return ResponseEntity.status(201).body(response);
-    } catch (RuntimeException e) {
+    } catch (OperationRejectedException e) {
       return ResponseEntity.status(400).body(new ErrorResponse(Constants.ERROR, e.getMessage()));
     }
   }
 
+  @PreAuthorize("hasRole('ADMIN')")
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<?> createUsers(InputStream body, Authentication authentication) {
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      BulkCreateResponse response =
+          userProvisioningService.provision(reader, authentication.getName());
+      return ResponseEntity.ok(response);
+    } catch (OperationRejectedException | IOException e) {
+      // Reader and parser messages can quote the body; only rejections carry a safe message
+      String message =
+          e instanceof OperationRejectedException
+              ? e.getMessage()
+              : Constants.MALFORMED_REQUEST_BODY;
+      return ResponseEntity.status(400).body(new ErrorResponse(Constants.ERROR, message));
+    }
+  }
+
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportUsers(
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestParam(defaultValue = "0") long after,
+      Authentication authentication) {
+    UserExportService.Format exportFormat;
+    try {
+      exportFormat = UserExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(Constants.UNSUPPORTED_EXPORT_FORMAT);
+    }
+    try {
+      userExportService.checkAllowed(authentication.getName());
+    } catch (OperationRejectedException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+
+    StreamingResponseBody body = out -> userExportService.export(out, exportFormat, after);
+    if (exportFormat == UserExportService.Format.CSV) {
+      return ResponseEntity.ok()
+          .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+          .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+          .header(HttpHeaders.CACHE_CONTROL, "no-store")
+          .body(body);
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.CACHE_CONTROL, "no-store")
+        .body(body);
+  }
+
   @PostMapping("/logout")
   public ResponseEntity<?> logout() {
-    try {
-      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-      if (authentication != null && authentication.isAuthenticated()) {
-        String username = authentication.getName();
-        authService.logoutByUsername(username);
-      }
-      return ResponseEntity.ok(
-          Map.of(
-              Constants.STATUS,
-              Constants.SUCCESS,
-              Constants.MESSAGE,
-              Constants.LOGGED_OUT_SUCCESSFULLY));
-    } catch (RuntimeException e) {
-      return ResponseEntity.status(500)
-          .body(new ErrorResponse(Constants.ERROR, Constants.LOGOUT_FAILED));
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.isAuthenticated()) {
+      String username = authentication.getName();
+      authService.logoutByUsername(username);
     }
+    return StaticResponse.LOGGED_OUT.entity();
   }
 }
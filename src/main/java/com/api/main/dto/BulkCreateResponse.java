@@ -0,0 +1,72 @@
+package com.api.main.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Data Transfer Object for bulk user provisioning results.
+ * Reports how many rows were created and failed, so a bad row never fails the
+ * rest of the batch. Errors lists at most the configured number of failed rows;
+ * failed always counts all of them.
+ * processedLines is the last input line whose outcome is final. When a request
+ * is cut short (status "error"), every line after it must be sent again.
+ */
+public class BulkCreateResponse {
+
+  private String status;
+  private int created;
+  private int failed;
+  private long processedLines;
+  private List<BulkRowError> errors;
+
+  public BulkCreateResponse() {}
+
+  public BulkCreateResponse(
+      String status, int created, int failed, long processedLines, List<BulkRowError> errors) {
+    this.status = status;
+    this.created = created;
+    this.failed = failed;
+    this.processedLines = processedLines;
+    this.errors = errors != null ? new ArrayList<>(errors) : null;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public int getCreated() {
+    return created;
+  }
+
+  public void setCreated(int created) {
+    this.created = created;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public void setFailed(int failed) {
+    this.failed = failed;
+  }
+
+  public long getProcessedLines() {
+    return processedLines;
+  }
+
+  public void setProcessedLines(long processedLines) {
+    this.processedLines = processedLines;
+  }
+
+  public List<BulkRowError> getErrors() {
+    return errors != null ? new ArrayList<>(errors) : null;
+  }
+
+  public void setErrors(List<BulkRowError> errors) {
+    this.errors = errors != null ? new ArrayList<>(errors) : null;
+  }
+}
@@ -0,0 +1,45 @@
+package com.api.main.dto;
+
+/*
+ * Data Transfer Object for a rejected row of a bulk provisioning request.
+ * Identifies the row by its 1-based line number and, when it could be parsed,
+ * its username.
+ */
+public class BulkRowError {
+
+  private long line;
+  private String username;
+  private String message;
+
+  public BulkRowError() {}
+
+  public BulkRowError(long line, String username, String message) {
+    this.line = line;
+    this.username = username;
+    this.message = message;
+  }
+
+  public long getLine() {
+    return line;
+  }
+
+  public void setLine(long line) {
+    this.line = line;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
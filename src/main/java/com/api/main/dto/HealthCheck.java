@@ -0,0 +1,9 @@
+package com.api.main.dto;
+
+import java.util.Map;
+
+/*
+ * Result of one readiness probe (database, connection pool, password hashing).
+ * Details are counts and timings only; error messages are never exposed.
+ */
+public record HealthCheck(String status, Map<String, Object> details) {}
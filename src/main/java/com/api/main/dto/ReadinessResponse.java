@@ -0,0 +1,13 @@
+package com.api.main.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/*
+ * Cached result of the readiness probes, behind /health/ready and the
+ * "readiness" actuator health component.
+ * status is UP only when every check is UP; checkedAt is when the cached
+ * probe results were taken (null until the first probe completes).
+ */
+public record ReadinessResponse(
+    String status, Instant checkedAt, Map<String, HealthCheck> checks) {}
@@ -0,0 +1,104 @@
+package com.api.main.dto;
+
+import com.api.main.constants.Constants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/*
+ * Registry of fixed JSON responses for error and status paths.
+ * Each body is serialized once, when the class is loaded, to UTF-8 bytes and
+ * written as-is with its Content-Length, so a 401 during credential stuffing
+ * costs no serialization or allocation beyond the write itself.
+ * Servlet filters and security handlers call write(response); controllers return
+ * entity(), a shared read-only ResponseEntity, or withHeader(...) when a per-request
+ * header such as Retry-After is needed.
+ * Bodies are identical to the ErrorResponse / HealthResponse JSON they replace.
+ */
+public enum StaticResponse {
+  UNAUTHORIZED(HttpStatus.UNAUTHORIZED, error(Constants.UNAUTHORIZED)),
+  UNAUTHORIZED_ACCESS(HttpStatus.UNAUTHORIZED, error(Constants.UNAUTHORIZED_MESSAGE)),
+  INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, error(Constants.INVALID_CREDENTIALS)),
+  ACCESS_DENIED(HttpStatus.FORBIDDEN, error(Constants.ACCESS_DENIED)),
+  LOGGED_OUT(HttpStatus.OK, success(Constants.LOGGED_OUT_SUCCESSFULLY)),
+  INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, error(Constants.INTERNAL_SERVER_ERROR)),
+  SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, error(Constants.SERVICE_UNAVAILABLE)),
+  TOO_MANY_LOGIN_ATTEMPTS(HttpStatus.TOO_MANY_REQUESTS, error(Constants.TOO_MANY_LOGIN_ATTEMPTS)),
+  LOGIN_BODY_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, error(Constants.LOGIN_BODY_TOO_LARGE)),
+  HEALTH_UP(HttpStatus.OK, new HealthResponse(Constants.UP)),
+  HEALTH_DOWN(HttpStatus.SERVICE_UNAVAILABLE, new HealthResponse(Constants.DOWN));
+
+  private final HttpStatus status;
+  private final byte[] body;
+  private final ResponseEntity<byte[]> entity;
+
+  StaticResponse(HttpStatus status, Object body) {
+    this.status = status;
+    this.body = Serializer.toBytes(body);
+    this.entity = builder().body(this.body);
+  }
+
+  public HttpStatus status() {
+    return status;
+  }
+
+  public ResponseEntity<byte[]> entity() {
+    return entity;
+  }
+
+  public ResponseEntity<byte[]> withHeader(String name, String value) {
+    return builder().header(name, value).body(body);
+  }
+
+  /*
+   * Writes the status, content type, Content-Length and body directly to the
+   * servlet output stream, bypassing message converters.
+   */
+  public void write(HttpServletResponse response) throws IOException {
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  private ResponseEntity.BodyBuilder builder() {
+    return ResponseEntity.status(status)
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length));
+  }
+
+  private static ErrorResponse error(String message) {
+    return new ErrorResponse(Constants.ERROR, message);
+  }
+
+  private static Map<String, String> success(String message) {
+    Map<String, String> body = new LinkedHashMap<>();
+    body.put(Constants.STATUS, Constants.SUCCESS);
+    body.put(Constants.MESSAGE, message);
+    return body;
+  }
+
+  /*
+   * Holds the mapper outside the enum, whose constants are constructed before
+   * its own static fields are initialized.
+   */
+  private static final class Serializer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static byte[] toBytes(Object body) {
+      try {
+        return MAPPER.writeValueAsBytes(body);
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Cannot serialize static response " + body, e);
+      }
+    }
+  }
+}
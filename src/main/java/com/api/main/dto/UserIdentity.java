@@ -0,0 +1,6 @@
+package com.api.main.dto;
+
+/*
+ * Projection of the unique columns of a user, used for set-based duplicate checks.
+ */
+public record UserIdentity(String username, String email) {}
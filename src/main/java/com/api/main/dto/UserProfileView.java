@@ -0,0 +1,27 @@
+package com.api.main.dto;
+
+import com.api.main.security.TokenWatermark;
+import java.time.Instant;
+import java.util.Collections;
+
+/*
+ * Read-only projection backing /users/me.
+ * Carries the public profile fields together with the user's token watermark,
+ * so both come from one primary-key lookup without loading managed entities.
+ */
+public record UserProfileView(
+    Long id,
+    String username,
+    String email,
+    String role,
+    Instant tokensValidAfter,
+    Instant lastTokenIssuedAt) {
+
+  public boolean isRevoked() {
+    return new TokenWatermark(username, tokensValidAfter, lastTokenIssuedAt).isLatestRevoked();
+  }
+
+  public UserResponse toResponse() {
+    return new UserResponse(id, username, email, Collections.singletonList(role));
+  }
+}
@@ -0,0 +1,14 @@
+package com.api.main.dto;
+
+import java.util.Collections;
+
+/*
+ * Read-only projection of the public user columns, used for listings and exports.
+ * Built directly by the query, so no managed entities or password hashes are loaded.
+ */
+public record UserSummary(Long id, String username, String email, String role) {
+
+  public UserResponse toResponse() {
+    return new UserResponse(id, username, email, Collections.singletonList(role));
+  }
+}
@@ -0,0 +1,94 @@
+package com.api.main.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/*
+ * JPA Entity representing a named lease used to run a background job
+ * on a single application instance at a time.
+ * A lease is held by lockedBy until lockedUntil; an expired lease can be
+ * taken over by any instance, so a crashed holder never blocks the job forever.
+ */
+@Entity
+@Table(name = "job_locks")
+public class JobLock {
+
+  /* Name of the job, also the primary key */
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  /* Timestamp until which the current holder owns the lease */
+  @Column(nullable = false)
+  private Instant lockedUntil;
+
+  /* Identity of the instance holding the lease */
+  @Column(nullable = false)
+  private String lockedBy;
+
+  /* Default constructor */
+  public JobLock() {}
+
+  /*
+   * Constructor with parameters
+   * @param name Name of the job
+   * @param lockedUntil Timestamp until which the lease is held
+   * @param lockedBy Identity of the instance holding the lease
+   *
+   */
+  public JobLock(String name, Instant lockedUntil, String lockedBy) {
+    this.name = name;
+    this.lockedUntil = lockedUntil;
+    this.lockedBy = lockedBy;
+  }
+
+  /* Getters and Setters */
+
+  /* Get the job name
+   * @return name
+   *
+   */
+  public String getName() {
+    return name;
+  }
+
+  /* Set the job name
+   * @param name Name of the job
+   *
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /* Get the lease end timestamp
+   * @return lockedUntil
+   *
+   */
+  public Instant getLockedUntil() {
+    return lockedUntil;
+  }
+
+  /* Set the lease end timestamp
+   * @param lockedUntil Timestamp until which the lease is held
+   *
+   */
+  public void setLockedUntil(Instant lockedUntil) {
+    this.lockedUntil = lockedUntil;
+  }
+
+  /* Get the identity of the lease holder
+   * @return lockedBy
+   *
+   */
+  public String getLockedBy() {
+    return lockedBy;
+  }
+
+  /* Set the identity of the lease holder
+   * @param lockedBy Identity of the instance holding the lease
+   *
+   */
+  public void setLockedBy(String lockedBy) {
+    this.lockedBy = lockedBy;
+  }
+}
@@ -1,10 +1,13 @@
 package com.api.main.entity;
 
+import com.api.main.security.TokenHasher;
 import jakarta.persistence.*;
 import java.time.Instant;
 
 /*
  * JPA Entity representing a JWT token in the database.
+ * Only the SHA-256 digest of the token is stored; the raw value is returned
+ * to the client once at login and never persisted.
  * Enables token tracking, validation, and revocation.
  * Stores token metadata including creation and expiration timestamps.
  * Revoked tokens are invalidated even before expiration.
@@ -19,9 +22,9 @@ public class Token {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  /* The JWT token string */
-  @Column(nullable = false, unique = true, length = 500)
-  private String token;
+  /* SHA-256 digest of the JWT token string, fixed 32 bytes */
+  @Column(name = "token_hash", unique = true, nullable = false, length = TokenHasher.HASH_LENGTH)
+  private byte[] tokenHash;
 
   /* Username associated with the token */
   @Column(nullable = false)
@@ -44,14 +47,14 @@ public class Token {
 
   /*
    * Constructor with parameters
-   * @param token The JWT token string
+   * @param tokenHash SHA-256 digest of the JWT token string
    * @param username Username associated with the token
    * @param createdAt Timestamp when the token was created
    * @param expiresAt Timestamp when the token expires
    *
    */
-  public Token(String token, String username, Instant createdAt, Instant expiresAt) {
-    this.token = token;
+  public Token(byte[] tokenHash, String username, Instant createdAt, Instant expiresAt) {
+    this.tokenHash = tokenHash != null ? tokenHash.clone() : null;
     this.username = username;
     this.createdAt = createdAt;
     this.expiresAt = expiresAt;
@@ -76,20 +79,20 @@ public class Token {
     this.id = id;
   }
 
-  /* Get the JWT token string
-   * @return token
+  /* Get the SHA-256 digest of the JWT token string
+   * @return tokenHash
    *
    */
-  public String getToken() {
-    return token;
+  public byte[] getTokenHash() {
+    return tokenHash != null ? tokenHash.clone() : null;
   }
 
-  /* Set the JWT token string
-   * @param token The JWT token string
+  /* Set the SHA-256 digest of the JWT token string
+   * @param tokenHash SHA-256 digest of the JWT token string
    *
    */
-  public void setToken(String token) {
-    this.token = token;
+  public void setTokenHash(byte[] tokenHash) {
+    this.tokenHash = tokenHash != null ? tokenHash.clone() : null;
   }
 
   /* Get the username associated with the token
@@ -1,9 +1,11 @@
 package com.api.main.entity;
 
+import com.api.main.services.UserDetailsEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.time.Instant;
 
 /*
  * JPA Entity representing a user in the system.
@@ -11,9 +13,11 @@ import jakarta.validation.constraints.Size;
  * Password is stored as a BCrypt hash, never in plain text.
  * Contains validation constraints for username, email, and password.
  * Used for authentication and authorization throughout the application.
+ * Updates and deletes evict the cached user details (UserDetailsEvictionListener).
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserDetailsEvictionListener.class)
 public class User {
 
   /*
@@ -69,6 +73,22 @@ public class User {
   @Column(nullable = false)
   private boolean enabled = true;
 
+  /*
+   * Revocation watermark: tokens created at or before this instant are revoked
+   * Set by bulk logout with a single-row update; null if never revoked
+   * @return tokensValidAfter
+   */
+  @Column(name = "tokens_valid_after")
+  private Instant tokensValidAfter;
+
+  /*
+   * Creation time of the user's latest token, cleared when that token is revoked
+   * Null if the user has no usable latest token
+   * @return lastTokenIssuedAt
+   */
+  @Column(name = "last_token_issued_at")
+  private Instant lastTokenIssuedAt;
+
   /* Default constructor */
   public User() {}
 
@@ -218,6 +238,42 @@ public class User {
     this.enabled = enabled;
   }
 
+  /*
+   * Get the revocation watermark
+   * @return tokensValidAfter
+   *
+   */
+  public Instant getTokensValidAfter() {
+    return tokensValidAfter;
+  }
+
+  /*
+   * Set the revocation watermark
+   * @param tokensValidAfter Instant at or before which tokens are revoked
+   *
+   */
+  public void setTokensValidAfter(Instant tokensValidAfter) {
+    this.tokensValidAfter = tokensValidAfter;
+  }
+
+  /*
+   * Get the creation time of the latest token
+   * @return lastTokenIssuedAt
+   *
+   */
+  public Instant getLastTokenIssuedAt() {
+    return lastTokenIssuedAt;
+  }
+
+  /*
+   * Set the creation time of the latest token
+   * @param lastTokenIssuedAt Creation time of the latest token
+   *
+   */
+  public void setLastTokenIssuedAt(Instant lastTokenIssuedAt) {
+    this.lastTokenIssuedAt = lastTokenIssuedAt;
+  }
+
   /*
    * String representation of the User entity
    * @return String representation
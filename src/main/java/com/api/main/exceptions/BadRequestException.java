@@ -0,0 +1,15 @@
+package com.api.main.exceptions;
+
+/*
+ * Thrown by endpoints whose success response is not an ErrorResponse-compatible
+ * body (e.g. streamed exports) to reject a request. Mapped to 400 Bad Request
+ * with an ErrorResponse by GlobalExceptionHandler.
+ */
+public class BadRequestException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public BadRequestException(String message) {
+    super(message);
+  }
+}
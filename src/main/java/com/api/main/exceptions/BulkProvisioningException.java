@@ -0,0 +1,26 @@
+package com.api.main.exceptions;
+
+import com.api.main.dto.BulkCreateResponse;
+
+/*
+ * Thrown when a bulk provisioning request fails after some of its batches have
+ * been committed, e.g. because the connection pool timed out or password
+ * hashing shed the batch. Carries the progress made so far so that
+ * GlobalExceptionHandler can return it with the 503 or 500 status, telling the
+ * client which lines still have to be sent.
+ */
+public class BulkProvisioningException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient BulkCreateResponse progress;
+
+  public BulkProvisioningException(BulkCreateResponse progress, RuntimeException cause) {
+    super(cause.getMessage(), cause);
+    this.progress = progress;
+  }
+
+  public BulkCreateResponse getProgress() {
+    return progress;
+  }
+}
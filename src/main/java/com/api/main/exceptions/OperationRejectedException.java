@@ -0,0 +1,17 @@
+package com.api.main.exceptions;
+
+/*
+ * Thrown by services when a user operation is refused for a business reason:
+ * the caller's token is revoked, the user does not exist, or the username or
+ * email is taken. Controllers catch it and choose the status themselves.
+ * Database and pool failures are not subclasses, so they pass through to
+ * GlobalExceptionHandler instead of being reported as a rejected request.
+ */
+public class OperationRejectedException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public OperationRejectedException(String message) {
+    super(message);
+  }
+}
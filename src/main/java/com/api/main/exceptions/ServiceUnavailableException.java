@@ -0,0 +1,41 @@
+package com.api.main.exceptions;
+
+import java.sql.SQLTransientConnectionException;
+
+/*
+ * Thrown when a bounded resource is saturated and the request is shed
+ * instead of queued. Mapped to 503 Service Unavailable with a Retry-After
+ * header by GlobalExceptionHandler, so clients back off rather than pile up.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final long retryAfterSeconds;
+
+  public ServiceUnavailableException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  /*
+   * Check whether a failure was caused by the connection pool timing out.
+   * Hikari reports it as SQLTransientConnectionException, which Hibernate, JPA and
+   * Spring wrap differently depending on where the connection was requested.
+   * @param failure The exception to inspect
+   * @return true if a connection could not be acquired within the pool timeout
+   *
+   */
+  public static boolean isConnectionPoolTimeout(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLTransientConnectionException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,50 @@
+package com.api.main.repositories;
+
+import com.api.main.constants.Constants;
+import com.api.main.entity.JobLock;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Repository interface for JobLock lease operations.
+ * Leases are taken and released with conditional single-row updates,
+ * so two instances can never both succeed in acquiring the same job.
+ * All queries use named parameters bound by Hibernate.
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+  /*
+   * Take over a lease that has expired or is already held by the caller.
+   * @param name Name of the job
+   * @param owner Identity of the acquiring instance
+   * @param now Current timestamp
+   * @param until Timestamp until which the lease is held
+   * @return Number of rows updated (1 if acquired, else 0)
+   *
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(Constants.ACQUIRING_JOB_LOCK_QUERY)
+  int acquire(
+      @Param("name") String name,
+      @Param("owner") String owner,
+      @Param("now") Instant now,
+      @Param("until") Instant until);
+
+  /*
+   * Release a lease held by the caller.
+   * @param name Name of the job
+   * @param owner Identity of the releasing instance
+   * @param now Current timestamp, stored as the new lease end
+   * @return Number of rows updated
+   *
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(Constants.RELEASING_JOB_LOCK_QUERY)
+  int release(
+      @Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -2,22 +2,28 @@ package com.api.main.repositories;
 
 import com.api.main.constants.Constants;
 import com.api.main.entity.Token;
+import com.api.main.security.TokenPrincipal;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /*
  * Repository interface for Token entity database operations.
  * Manages JWT token persistence and lifecycle.
  * Provides methods for token validation and revocation.
- * Supports bulk operations for revoking user tokens and cleanup.
+ * Bulk revocation is recorded as a watermark on users (see UserRepository);
+ * this repository handles single-token revocation and cleanup.
  * Uses JPQL queries for efficient token management.
  *
  * SQL Injection Protection:
- * All queries use parameterized statements. Derived methods (findByToken) and
+ * All queries use parameterized statements. Derived methods (findByTokenHash) and
  * @Query annotations with named parameters (:username) are safely bound by
  * Hibernate. No raw SQL or string concatenation is used anywhere.
  */
@@ -25,37 +31,43 @@ import org.springframework.stereotype.Repository;
 public interface TokenRepository extends JpaRepository<Token, Long> {
 
   /*
-   * Find a token by its string value.
-   * @param token The JWT token string
+   * Find a token by the digest of its string value.
+   * @param tokenHash SHA-256 digest of the JWT token string
    * @return Optional containing the Token if found, else empty
    *
    */
-  Optional<Token> findByToken(String token);
+  Optional<Token> findByTokenHash(byte[] tokenHash);
 
   /*
-   * Find a non-revoked token by its string value.
-   * @param token The JWT token string
+   * Find a non-revoked token by the digest of its string value.
+   * @param tokenHash SHA-256 digest of the JWT token string
    * @return Optional containing the Token if found and not revoked, else empty
    *
    */
-  Optional<Token> findByTokenAndRevokedFalse(String token);
+  Optional<Token> findByTokenHashAndRevokedFalse(byte[] tokenHash);
 
   /*
-   * Find the most recent token for a given username.
-   * @param username The username associated with the token
-   * @return Optional containing the most recent Token if found, else empty
+   * Resolve an active token to its owner in a single query.
+   * Only non-revoked, unexpired tokens of enabled users are returned.
+   * Read-only, so it may be served by a read replica when one is configured.
+   * @param tokenHash SHA-256 digest of the JWT token string
+   * @param now Current timestamp used for the expiry check
+   * @return Optional containing the TokenPrincipal if the token is usable, else empty
    *
    */
-  Optional<Token> findTopByUsernameOrderByExpiresAtDesc(String username);
+  @Transactional(readOnly = true)
+  @Query(Constants.ACTIVE_TOKEN_PRINCIPAL_QUERY)
+  Optional<TokenPrincipal> findActivePrincipalByToken(
+      @Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
 
   /*
-   * Revoke all tokens associated with a specific username.
-   * @param username The username whose tokens are to be revoked
+   * Find revoked tokens that have not expired yet.
+   * Used to seed the in-memory revocation list for signed tokens.
+   * @param now Current timestamp used for the expiry check
+   * @return Revoked, unexpired tokens
    *
    */
-  @Modifying(clearAutomatically = true, flushAutomatically = true)
-  @Query(Constants.ADDING_TOKEN_QUERY)
-  void revokeAllUserTokens(@Param("username") String username);
+  List<Token> findByRevokedTrueAndExpiresAtAfter(Instant now);
 
   /*
    * Delete all expired tokens from the database.
@@ -64,4 +76,37 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
   @Modifying
   @Query(Constants.DELETING_TOKEN_QUERY)
   void deleteExpiredTokens();
+
+  /*
+   * Find the ids of the oldest expired tokens, in id order.
+   * @param now Current timestamp used for the expiry check
+   * @param limit Maximum number of ids to return
+   * @return Ids of expired tokens, ascending
+   *
+   */
+  @Query(Constants.EXPIRED_TOKEN_IDS_QUERY)
+  List<Long> findExpiredTokenIds(@Param("now") Instant now, Limit limit);
+
+  /*
+   * Delete expired tokens within an id range, bounding the rows locked per statement.
+   * @param fromId Lowest id in the range (inclusive)
+   * @param toId Highest id in the range (inclusive)
+   * @param now Current timestamp used for the expiry check
+   * @return Number of tokens deleted
+   *
+   */
+  @Modifying
+  @Query(Constants.DELETING_EXPIRED_TOKEN_RANGE_QUERY)
+  int deleteExpiredTokensInRange(
+      @Param("fromId") Long fromId, @Param("toId") Long toId, @Param("now") Instant now);
+
+  /*
+   * Count tokens that are neither revoked nor expired (active sessions).
+   * @param now Current timestamp used for the expiry check
+   * @return Number of active tokens
+   *
+   */
+  @Transactional(readOnly = true)
+  @Query(Constants.COUNTING_ACTIVE_TOKENS_QUERY)
+  long countActiveTokens(@Param("now") Instant now);
 }
@@ -1,9 +1,25 @@
 package com.api.main.repositories;
 
+import com.api.main.constants.Constants;
+import com.api.main.dto.UserIdentity;
+import com.api.main.dto.UserProfileView;
+import com.api.main.dto.UserSummary;
 import com.api.main.entity.User;
+import com.api.main.security.TokenWatermark;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /*
  * Repository interface for User entity database operations.
@@ -19,9 +35,124 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+  /*
+   * Find a user by username.
+   * Read-only unless called inside a read-write transaction, so lookups made
+   * while authenticating may be served by a read replica.
+   * @param username The username to look up
+   * @return Optional containing the User if found, else empty
+   *
+   */
+  @Transactional(readOnly = true)
   Optional<User> findByUsername(String username);
 
   boolean existsByUsername(String username);
 
   boolean existsByEmail(String email);
+
+  /*
+   * Find existing users that clash with any of the given usernames or emails.
+   * Used by bulk provisioning to check a whole batch for duplicates at once.
+   * @param usernames Usernames to check
+   * @param emails Emails to check
+   * @return Username and email of every clashing user
+   *
+   */
+  @Query(Constants.EXISTING_USER_IDENTITIES_QUERY)
+  List<UserIdentity> findIdentities(
+      @Param("usernames") Collection<String> usernames,
+      @Param("emails") Collection<String> emails);
+
+  /*
+   * Load the public profile of a user and its token watermark in one query,
+   * as a DTO projection that is never flushed or dirty-checked.
+   * Read-only, so it may be served by a read replica when one is configured.
+   * @param username The username to look up
+   * @return Optional containing the UserProfileView if the user exists, else empty
+   *
+   */
+  @Transactional(readOnly = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+  @Query(Constants.USER_PROFILE_QUERY)
+  Optional<UserProfileView> findProfileByUsername(@Param("username") String username);
+
+  /*
+   * Read the next page of users in id order (keyset pagination).
+   * Seeks past afterId on the primary key index instead of counting skipped rows,
+   * so every page costs the same however deep the listing goes.
+   * Read-only, so exports may be served by a read replica.
+   * @param afterId Id of the last user already read (0 to start)
+   * @param limit Maximum number of users to return
+   * @return Users with an id greater than afterId, ascending
+   *
+   */
+  @Transactional(readOnly = true)
+  @Query(Constants.USERS_AFTER_ID_QUERY)
+  List<UserSummary> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+  /*
+   * Load the token watermark of a user.
+   * Read-only, so it may be served by a read replica when one is configured.
+   * @param username The username to look up
+   * @return Optional containing the TokenWatermark if the user exists, else empty
+   *
+   */
+  @Transactional(readOnly = true)
+  @Query(Constants.TOKEN_WATERMARK_QUERY)
+  Optional<TokenWatermark> findTokenWatermark(@Param("username") String username);
+
+  /*
+   * Find users whose tokens were bulk-revoked after the given instant.
+   * Used to seed the in-memory revocation list for signed tokens.
+   * @param since Oldest watermark that can still affect an unexpired token
+   * @return Watermarks newer than since
+   *
+   */
+  @Query(Constants.TOKEN_WATERMARKS_SINCE_QUERY)
+  List<TokenWatermark> findTokenWatermarksSince(@Param("since") Instant since);
+
+  /*
+   * Record the creation time of a user's newest token.
+   * @param username The username the token was issued to
+   * @param issuedAt Creation time of the token
+   * @return Number of rows updated
+   *
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(Constants.RECORDING_TOKEN_ISSUED_QUERY)
+  int recordTokenIssued(@Param("username") String username, @Param("issuedAt") Instant issuedAt);
+
+  /*
+   * Revoke every token of a user created at or before an instant, as one row update.
+   * @param username The username whose tokens are revoked
+   * @param before Tokens created at or before this instant are revoked
+   * @return Number of rows updated
+   *
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(Constants.REVOKING_TOKENS_BEFORE_QUERY)
+  int revokeTokensBefore(@Param("username") String username, @Param("before") Instant before);
+
+  /*
+   * Mark the user's latest token as revoked if it is the one created at issuedAt.
+   * @param username The token's owner
+   * @param issuedAt Creation time of the revoked token
+   * @return Number of rows updated
+   *
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(Constants.CLEARING_LATEST_TOKEN_QUERY)
+  int clearLatestToken(@Param("username") String username, @Param("issuedAt") Instant issuedAt);
+
+  /*
+   * Replace the stored password hash of a user.
+   * @param username The username whose hash is replaced
+   * @param passwordHash The new encoded password
+   * @return Number of rows updated
+   *
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(Constants.UPDATING_PASSWORD_HASH_QUERY)
+  int updatePasswordHash(
+      @Param("username") String username, @Param("passwordHash") String passwordHash);
 }
@@ -0,0 +1,133 @@
+package com.api.main.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/*
+ * PasswordEncoder that tags every hash with its algorithm and cost, in the style
+ * of DelegatingPasswordEncoder:
+ * - {bcrypt}$2a$12$...          (cost is part of the BCrypt hash)
+ * - {pbkdf2}310000$<hex>        (PBKDF2-HMAC-SHA256 iterations stored explicitly)
+ * Hashes without a prefix are legacy BCrypt hashes and still verify.
+ * upgradeEncoding reports any hash whose algorithm or cost differs from the
+ * target, in either direction, so DaoAuthenticationProvider rehashes it on the
+ * next successful login.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+  public static final String BCRYPT = "bcrypt";
+  public static final String PBKDF2 = "pbkdf2";
+
+  private static final int PBKDF2_SALT_LENGTH = 16;
+
+  private final String targetId;
+  private final int bcryptStrength;
+  private final int pbkdf2Iterations;
+  private final BCryptPasswordEncoder bcrypt;
+  private final Map<Integer, Pbkdf2PasswordEncoder> pbkdf2ByIterations = new ConcurrentHashMap<>();
+
+  /*
+   * Constructor with parameters
+   * @param targetId Algorithm used for new hashes (bcrypt or pbkdf2)
+   * @param bcryptStrength Target BCrypt cost (log2 rounds)
+   * @param pbkdf2Iterations Target PBKDF2 iteration count
+   *
+   */
+  public AdaptivePasswordEncoder(String targetId, int bcryptStrength, int pbkdf2Iterations) {
+    if (!BCRYPT.equals(targetId) && !PBKDF2.equals(targetId)) {
+      throw new IllegalArgumentException("Unsupported password algorithm: " + targetId);
+    }
+    this.targetId = targetId;
+    this.bcryptStrength = bcryptStrength;
+    this.pbkdf2Iterations = pbkdf2Iterations;
+    this.bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    if (PBKDF2.equals(targetId)) {
+      return "{" + PBKDF2 + "}"
+          + pbkdf2Iterations
+          + "$"
+          + pbkdf2(pbkdf2Iterations).encode(rawPassword);
+    }
+    return "{" + BCRYPT + "}" + bcrypt.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    if (rawPassword == null || encodedPassword == null) {
+      return false;
+    }
+    String id = idOf(encodedPassword);
+    String hash = id == null ? encodedPassword : encodedPassword.substring(id.length() + 2);
+    if (id == null || BCRYPT.equals(id)) {
+      return bcrypt.matches(rawPassword, hash);
+    }
+    if (PBKDF2.equals(id)) {
+      int separator = hash.indexOf('$');
+      if (separator <= 0) {
+        return false;
+      }
+      try {
+        int iterations = Integer.parseInt(hash.substring(0, separator));
+        return pbkdf2(iterations).matches(rawPassword, hash.substring(separator + 1));
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    String id = idOf(encodedPassword);
+    if (!targetId.equals(id)) {
+      return true;
+    }
+    String hash = encodedPassword.substring(id.length() + 2);
+    if (BCRYPT.equals(id)) {
+      return bcryptCost(hash) != bcryptStrength;
+    }
+    return !hash.startsWith(pbkdf2Iterations + "$");
+  }
+
+  /*
+   * Read the cost of a BCrypt hash ($2a$NN$...).
+   * @param hash The BCrypt hash without prefix
+   * @return The cost, or -1 if the hash is malformed
+   *
+   */
+  static int bcryptCost(String hash) {
+    if (hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(hash.substring(4, 6));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static String idOf(String encodedPassword) {
+    if (encodedPassword == null || !encodedPassword.startsWith("{")) {
+      return null;
+    }
+    int end = encodedPassword.indexOf('}');
+    return end > 0 ? encodedPassword.substring(1, end) : null;
+  }
+
+  private Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+    return pbkdf2ByIterations.computeIfAbsent(
+        iterations,
+        count ->
+            new Pbkdf2PasswordEncoder(
+                "",
+                PBKDF2_SALT_LENGTH,
+                count,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+  }
+}
@@ -0,0 +1,75 @@
+package com.api.main.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+ * Timers for the phases of a credential check and login, published as
+ * auth.authenticate.phase tagged with:
+ * - user_lookup: loading the user (cache or database) for a credential check
+ * - password: PasswordEncoder.matches, including the dummy hash for unknown users
+ * - token_mint: generating or signing the token
+ * - token_store: inserting the token and updating the user's watermark
+ * user_lookup and password wrap the AuthenticationProvider's collaborators, so
+ * they cover /auth/login and the HTTP Basic fallback alike.
+ */
+public final class AuthenticationPhases {
+
+  public static final String USER_LOOKUP = "user_lookup";
+  public static final String PASSWORD = "password";
+  public static final String TOKEN_MINT = "token_mint";
+  public static final String TOKEN_STORE = "token_store";
+
+  private AuthenticationPhases() {}
+
+  public static Timer timer(MeterRegistry meterRegistry, String phase) {
+    return Timer.builder("auth.authenticate.phase")
+        .description("Time spent in each phase of a login")
+        .tag("phase", phase)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /*
+   * Wrap a UserDetailsService so every lookup is timed as user_lookup.
+   * @param delegate The service doing the lookup
+   * @param meterRegistry Registry for the timer
+   * @return The timed service
+   *
+   */
+  public static UserDetailsService timedLookup(
+      UserDetailsService delegate, MeterRegistry meterRegistry) {
+    Timer timer = timer(meterRegistry, USER_LOOKUP);
+    return username -> timer.record(() -> delegate.loadUserByUsername(username));
+  }
+
+  /*
+   * Wrap a PasswordEncoder so every matches call is timed as password.
+   * @param delegate The encoder doing the work
+   * @param meterRegistry Registry for the timer
+   * @return The timed encoder
+   *
+   */
+  public static PasswordEncoder timedMatches(
+      PasswordEncoder delegate, MeterRegistry meterRegistry) {
+    Timer timer = timer(meterRegistry, PASSWORD);
+    return new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return timer.record(() -> delegate.matches(rawPassword, encodedPassword));
+      }
+
+      @Override
+      public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+      }
+    };
+  }
+}
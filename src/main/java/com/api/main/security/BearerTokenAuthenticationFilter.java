@@ -0,0 +1,87 @@
+package com.api.main.security;
+
+import com.api.main.constants.Constants;
+import com.api.main.dto.StaticResponse;
+import com.api.main.exceptions.ServiceUnavailableException;
+import com.api.main.services.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/*
+ * Stateless filter that authenticates requests carrying an
+ * "Authorization: Bearer <token>" header.
+ * Resolves the token through TokenService with a single indexed lookup
+ * and populates the SecurityContext with the owner and its role.
+ * Requests without a bearer token pass through untouched so HTTP Basic
+ * keeps working; invalid tokens are left unauthenticated and rejected
+ * by the configured authentication entry point.
+ * If the token lookup cannot get a database connection within the pool timeout,
+ * the request is rejected with 503 and Retry-After instead of 401, so clients
+ * retry rather than discard a valid token.
+ * Not registered as a @Component to avoid being added twice to the servlet chain.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+  private final TokenService tokenService;
+  private final long poolRetryAfterSeconds;
+
+  private final SecurityContextHolderStrategy securityContextHolderStrategy =
+      SecurityContextHolder.getContextHolderStrategy();
+
+  public BearerTokenAuthenticationFilter(TokenService tokenService, long poolRetryAfterSeconds) {
+    this.tokenService = tokenService;
+    this.poolRetryAfterSeconds = poolRetryAfterSeconds;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String header = request.getHeader(Constants.AUTHORIZATION);
+    if (header == null
+        || !header.regionMatches(
+            true, 0, Constants.BEARER_PREFIX, 0, Constants.BEARER_PREFIX.length())) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    String token = header.substring(Constants.BEARER_PREFIX.length()).trim();
+    Optional<TokenPrincipal> resolved;
+    try {
+      resolved = tokenService.resolve(token);
+    } catch (RuntimeException e) {
+      if (!ServiceUnavailableException.isConnectionPoolTimeout(e)) {
+        throw e;
+      }
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(poolRetryAfterSeconds));
+      StaticResponse.SERVICE_UNAVAILABLE.write(response);
+      return;
+    }
+    resolved.ifPresent(
+        principal -> {
+          UsernamePasswordAuthenticationToken authentication =
+              UsernamePasswordAuthenticationToken.authenticated(
+                  principal.username(),
+                  null,
+                  Collections.singletonList(
+                      new SimpleGrantedAuthority(Constants.ROLE + principal.role())));
+          SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+          context.setAuthentication(authentication);
+          securityContextHolderStrategy.setContext(context);
+        });
+
+    chain.doFilter(request, response);
+  }
+}
@@ -1,14 +1,19 @@
 package com.api.main.security;
 
 import com.api.main.constants.Constants;
-import com.api.main.entity.User;
 import com.api.main.repositories.UserRepository;
+import com.api.main.services.ReplicaPinning;
+import com.api.main.services.UserDetailsCache;
+import com.api.main.services.UserSnapshot;
 import java.util.Collections;
+import java.util.Optional;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /*
  * Custom implementation of Spring Security's UserDetailsService.
@@ -16,20 +21,36 @@ import org.springframework.stereotype.Service;
  * Converts the application's User entity to Spring Security's UserDetails.
  * Maps user roles with the ROLE_ prefix for proper authorization checks.
  * Throws UsernameNotFoundException if the user does not exist.
+ * Reads go through UserDetailsCache, so repeated authentications of the same
+ * user do not hit the users table.
+ * Also persists rehashed passwords when the hashing algorithm or cost changes.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   /* Repository for accessing user data from the database */
   private final UserRepository userRepository;
 
+  /* Cache of user snapshots shared with AuthService */
+  private final UserDetailsCache userDetailsCache;
+
+  /* Keeps recently written users on the primary when reads go to a replica */
+  private final ReplicaPinning replicaPinning;
+
   /*
    * Constructor for CustomUserDetailsService
    * @param userRepository Repository to access user data
+   * @param userDetailsCache Cache of user snapshots
+   * @param replicaPinning Read-your-writes pins for replica reads
    *
    */
-  public CustomUserDetailsService(UserRepository userRepository) {
+  public CustomUserDetailsService(
+      UserRepository userRepository,
+      UserDetailsCache userDetailsCache,
+      ReplicaPinning replicaPinning) {
     this.userRepository = userRepository;
+    this.userDetailsCache = userDetailsCache;
+    this.replicaPinning = replicaPinning;
   }
 
   /*
@@ -41,19 +62,43 @@ public class CustomUserDetailsService implements UserDetailsService {
    */
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    User user =
-        userRepository
-            .findByUsername(username)
+    UserSnapshot user =
+        userDetailsCache
+            .get(
+                username,
+                () ->
+                    replicaPinning.readForUser(
+                        username,
+                        () -> userRepository.findByUsername(username).map(UserSnapshot::of),
+                        Optional::isEmpty))
             .orElseThrow(
                 () -> new UsernameNotFoundException(Constants.USER_NOT_FOUND_MESSAGE + username));
 
     return new org.springframework.security.core.userdetails.User(
-        user.getUsername(),
-        user.getPasswordHash(),
-        user.isEnabled(),
+        user.username(),
+        user.passwordHash(),
+        user.enabled(),
         true,
         true,
         true,
-        Collections.singletonList(new SimpleGrantedAuthority(Constants.ROLE + user.getRole())));
+        Collections.singletonList(new SimpleGrantedAuthority(Constants.ROLE + user.role())));
+  }
+
+  /*
+   * Persist a password rehashed with the current algorithm and cost.
+   * Called by DaoAuthenticationProvider after a successful login.
+   * @param user The authenticated user
+   * @param newPassword The new encoded password
+   * @return UserDetails carrying the new encoded password
+   *
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    userRepository.updatePasswordHash(user.getUsername(), newPassword);
+    userDetailsCache.evict(user.getUsername());
+    return org.springframework.security.core.userdetails.User.withUserDetails(user)
+        .password(newPassword)
+        .build();
   }
 }
@@ -0,0 +1,185 @@
+package com.api.main.security;
+
+import com.api.main.dto.StaticResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/*
+ * Rejects POST /auth/login with 429 and Retry-After once the client IP or the
+ * requested username has used up its LoginRateLimiter budget.
+ * Runs ahead of every authentication filter, so a shed attempt costs no token
+ * lookup, user query or password hash.
+ * The whole body is buffered (login bodies are tiny; anything over
+ * MAX_BODY_BYTES is rejected with 413) and the username is read from it with a
+ * streaming parser the same way Jackson binds LoginRequest: the last top-level
+ * "username" wins and scalars are taken as text. The buffered bytes are then
+ * replayed to the controller, including to non-blocking readers.
+ * A body without a readable username is limited by IP only; it cannot reach the
+ * password check, as LoginRequest validation rejects it first.
+ * Not registered as a @Component to avoid being added twice to the servlet chain.
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+  static final int MAX_BODY_BYTES = 4096;
+
+  private static final String LOGIN_PATH = "/auth/login";
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final LoginRateLimiter loginRateLimiter;
+
+  public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter) {
+    this.loginRateLimiter = loginRateLimiter;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (!"POST".equals(request.getMethod())) {
+      return true;
+    }
+    String uri = request.getRequestURI();
+    int contextLength = request.getContextPath().length();
+    return uri.length() != contextLength + LOGIN_PATH.length()
+        || !uri.startsWith(LOGIN_PATH, contextLength);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+      StaticResponse.LOGIN_BODY_TOO_LARGE.write(response);
+      return;
+    }
+    byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+    if (body.length > MAX_BODY_BYTES) {
+      StaticResponse.LOGIN_BODY_TOO_LARGE.write(response);
+      return;
+    }
+
+    long retryAfterSeconds =
+        loginRateLimiter.tryAcquire(request.getRemoteAddr(), readUsername(body));
+    if (retryAfterSeconds > 0) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+      StaticResponse.TOO_MANY_LOGIN_ATTEMPTS.write(response);
+      return;
+    }
+    chain.doFilter(new BufferedBodyRequest(request, body), response);
+  }
+
+  /*
+   * Extract the top-level "username" of a JSON object as LoginRequest binding sees it.
+   * @param body The complete request body
+   * @return The last top-level username as text, or null if the body is not a
+   *     well-formed object with a scalar username
+   *
+   */
+  static String readUsername(byte[] body) {
+    try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      String username = null;
+      JsonToken token;
+      while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("username".equals(field)) {
+          username =
+              value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : null;
+        }
+        parser.skipChildren();
+      }
+      return token == JsonToken.END_OBJECT ? username : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /*
+   * Serves the buffered body in place of the consumed request stream.
+   */
+  private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+    private final ServletInputStream body;
+
+    BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = new BufferedBodyInputStream(body);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      return body;
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+      return new BufferedReader(new InputStreamReader(body, charset));
+    }
+  }
+
+  /*
+   * In-memory body: always ready, so a ReadListener is told at once that data is
+   * available and, once it has been read, that all data has been read.
+   */
+  private static final class BufferedBodyInputStream extends ServletInputStream {
+
+    private final ByteArrayInputStream delegate;
+
+    BufferedBodyInputStream(byte[] body) {
+      this.delegate = new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public int read() {
+      return delegate.read();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+      return delegate.read(buffer, offset, length);
+    }
+
+    @Override
+    public boolean isFinished() {
+      return delegate.available() == 0;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      try {
+        if (!isFinished()) {
+          readListener.onDataAvailable();
+        }
+        if (isFinished()) {
+          readListener.onAllDataRead();
+        }
+      } catch (IOException | RuntimeException e) {
+        readListener.onError(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.api.main.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * In-memory token-bucket limiter for login attempts, keyed by client IP and by username.
+ * Each key holds a single AtomicLong with its theoretical arrival time (GCRA, the
+ * token bucket expressed as one timestamp) updated with compare-and-set, so
+ * concurrent logins never block; the keys live in bounded Caffeine caches, which
+ * evict by W-TinyLFU (keys seen rarely go first, so a flood of one-off keys cannot
+ * push out frequently used ones), and idle keys expire once their bucket would be
+ * full again, so forgetting them changes nothing.
+ * Usernames are lower-cased so letter case cannot multiply an attacker's budget.
+ * Rejections are counted per limit and the number of tracked keys is exported.
+ */
+@Component
+public class LoginRateLimiter {
+
+  public static final String IP = "ip";
+  public static final String USERNAME = "username";
+
+  private final Limit ipLimit;
+  private final Limit usernameLimit;
+
+  public LoginRateLimiter(
+      MeterRegistry meterRegistry,
+      @Value("${security.login-rate-limit.ip.per-minute:60}") long ipPerMinute,
+      @Value("${security.login-rate-limit.ip.burst:20}") long ipBurst,
+      @Value("${security.login-rate-limit.username.per-minute:10}") long usernamePerMinute,
+      @Value("${security.login-rate-limit.username.burst:5}") long usernameBurst,
+      @Value("${security.login-rate-limit.max-keys:100000}") long maxKeys) {
+    this.ipLimit = new Limit(meterRegistry, IP, ipPerMinute, ipBurst, maxKeys);
+    this.usernameLimit =
+        new Limit(meterRegistry, USERNAME, usernamePerMinute, usernameBurst, maxKeys);
+  }
+
+  /*
+   * Take one attempt from the IP bucket and then from the username bucket.
+   * A request rejected by its IP does not consume the username's budget.
+   * @param clientIp The remote address of the request
+   * @param username The username from the login body, or null if it could not be read
+   * @return 0 if the attempt is allowed, else the seconds until it would be
+   *
+   */
+  public long tryAcquire(String clientIp, String username) {
+    long now = System.nanoTime();
+    long waitNanos = ipLimit.tryAcquire(clientIp, now);
+    if (waitNanos == 0 && username != null && !username.isEmpty()) {
+      waitNanos = usernameLimit.tryAcquire(username.toLowerCase(Locale.ROOT), now);
+    }
+    return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+  }
+
+  private static final class Limit {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Counter rejected;
+
+    Limit(MeterRegistry meterRegistry, String name, long perMinute, long burst, long maxKeys) {
+      this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+      this.toleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+      this.buckets =
+          Caffeine.newBuilder()
+              .maximumSize(maxKeys)
+              .expireAfterAccess(Duration.ofNanos(toleranceNanos + emissionIntervalNanos))
+              .build();
+      this.rejected =
+          Counter.builder("auth.login.rate_limited")
+              .description("Login attempts rejected with 429 before authentication")
+              .tag("limit", name)
+              .register(meterRegistry);
+      Gauge.builder("auth.login.rate_limiter.keys", buckets, Cache::estimatedSize)
+          .description("Client IPs or usernames with a tracked login bucket")
+          .tag("limit", name)
+          .register(meterRegistry);
+    }
+
+    /*
+     * GCRA: allow when the theoretical arrival time is at most tolerance ahead of
+     * now, and push it one emission interval further.
+     * @return 0 if allowed, else the nanoseconds until the next attempt is allowed
+     *
+     */
+    long tryAcquire(String key, long now) {
+      AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+      while (true) {
+        long current = arrival.get();
+        long theoretical = current - now < 0 ? now : current;
+        long wait = theoretical - now - toleranceNanos;
+        if (wait > 0) {
+          rejected.increment();
+          return wait;
+        }
+        if (arrival.compareAndSet(current, theoretical + emissionIntervalNanos)) {
+          return 0;
+        }
+      }
+    }
+  }
+}
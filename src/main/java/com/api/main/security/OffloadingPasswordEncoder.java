@@ -0,0 +1,51 @@
+package com.api.main.security;
+
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+ * PasswordEncoder decorator that runs encode and matches on the bounded
+ * PasswordHashExecutor instead of the request thread's CPU budget.
+ * Rehashing is optional work, so upgradeEncoding is only reported while
+ * the hashing queue has headroom; it is retried on a later login otherwise.
+ * encodeAll hashes a batch in parallel across the pool.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final PasswordHashExecutor executor;
+
+  public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordHashExecutor executor) {
+    this.delegate = delegate;
+    this.executor = executor;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return executor.execute(() -> delegate.encode(rawPassword));
+  }
+
+  /*
+   * Encode a batch of passwords in parallel on the hashing pool.
+   * @param rawPasswords The passwords to encode
+   * @return The encoded passwords, in the same order
+   *
+   */
+  public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+    return executor.executeAll(
+        rawPasswords.stream()
+            .<Supplier<String>>map(rawPassword -> () -> delegate.encode(rawPassword))
+            .toList());
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return executor.hasHeadroom() && delegate.upgradeEncoding(encodedPassword);
+  }
+}
@@ -0,0 +1,75 @@
+package com.api.main.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/*
+ * Startup calibration of password-hash cost against a latency budget.
+ * Measures a cheap reference cost on the deployed hardware and extrapolates:
+ * BCrypt time doubles per cost step, PBKDF2 time grows linearly with iterations.
+ * The result never drops below the configured floor, so calibration can only
+ * make hashing stronger than the secure minimum, never weaker.
+ */
+public final class PasswordCostCalibrator {
+
+  public static final int BCRYPT_MIN_STRENGTH = 10;
+  public static final int BCRYPT_MAX_STRENGTH = 16;
+  public static final int PBKDF2_MIN_ITERATIONS = 100_000;
+
+  private static final int BCRYPT_REFERENCE_STRENGTH = 8;
+  private static final int PBKDF2_REFERENCE_ITERATIONS = 10_000;
+  private static final int SAMPLES = 5;
+  private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+
+  private PasswordCostCalibrator() {}
+
+  /*
+   * Pick the highest BCrypt cost whose hash time fits the budget.
+   * @param budget Target time per hash
+   * @return BCrypt cost between BCRYPT_MIN_STRENGTH and BCRYPT_MAX_STRENGTH
+   *
+   */
+  public static int calibrateBcrypt(Duration budget) {
+    BCryptPasswordEncoder reference = new BCryptPasswordEncoder(BCRYPT_REFERENCE_STRENGTH);
+    long referenceNanos = medianNanos(() -> reference.encode(SAMPLE_PASSWORD));
+    int strength = BCRYPT_REFERENCE_STRENGTH;
+    long estimate = referenceNanos;
+    while (strength < BCRYPT_MAX_STRENGTH && estimate * 2 <= budget.toNanos()) {
+      estimate *= 2;
+      strength++;
+    }
+    return Math.max(strength, BCRYPT_MIN_STRENGTH);
+  }
+
+  /*
+   * Pick the PBKDF2 iteration count whose hash time fits the budget.
+   * @param budget Target time per hash
+   * @return Iteration count of at least PBKDF2_MIN_ITERATIONS
+   *
+   */
+  public static int calibratePbkdf2(Duration budget) {
+    Pbkdf2PasswordEncoder reference =
+        new Pbkdf2PasswordEncoder(
+            "",
+            16,
+            PBKDF2_REFERENCE_ITERATIONS,
+            Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    long referenceNanos = Math.max(1, medianNanos(() -> reference.encode(SAMPLE_PASSWORD)));
+    long iterations = PBKDF2_REFERENCE_ITERATIONS * budget.toNanos() / referenceNanos;
+    return (int) Math.max(PBKDF2_MIN_ITERATIONS, Math.min(iterations, Integer.MAX_VALUE));
+  }
+
+  private static long medianNanos(Runnable hash) {
+    hash.run();
+    long[] samples = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      hash.run();
+      samples[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(samples);
+    return samples[SAMPLES / 2];
+  }
+}
@@ -0,0 +1,199 @@
+package com.api.main.security;
+
+import com.api.main.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Dedicated, bounded executor for password hashing.
+ * Hashing is CPU-bound, so the pool is sized to the core count and a burst of
+ * logins can only occupy that many cores plus a short queue. When the queue is
+ * full, callers fail fast with ServiceUnavailableException (503 + Retry-After)
+ * instead of tying up request threads needed by /health and /users/me.
+ * A batch (bulk provisioning) has at most poolSize - 1 tasks submitted at a
+ * time, so on its own it can never occupy every hashing thread and interactive
+ * logins keep at least one.
+ * Exports queue depth, active hashes, rejections, queue wait time and hash time.
+ */
+@Component
+public class PasswordHashExecutor {
+
+  private final ThreadPoolExecutor executor;
+  private final long retryAfterSeconds;
+  private final Timer waitTimer;
+  private final Timer hashTimer;
+  private final Counter rejected;
+
+  public PasswordHashExecutor(
+      MeterRegistry meterRegistry,
+      @Value("${security.password.hash-threads:0}") int threads,
+      @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+      @Value("${security.password.retry-after:1}") long retryAfterSeconds) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.retryAfterSeconds = retryAfterSeconds;
+
+    this.waitTimer =
+        Timer.builder("password.hash.wait")
+            .description("Time hashing tasks spend queued")
+            .register(meterRegistry);
+    this.hashTimer =
+        Timer.builder("password.hash.duration")
+            .description("Time spent computing password hashes")
+            .register(meterRegistry);
+    this.rejected =
+        Counter.builder("password.hash.rejected")
+            .description("Hashing tasks shed because the queue was full")
+            .register(meterRegistry);
+    Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+        .description("Hashing tasks waiting for a thread")
+        .register(meterRegistry);
+    Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Hashing tasks currently running")
+        .register(meterRegistry);
+  }
+
+  /*
+   * Run a hashing task on the dedicated pool and wait for its result.
+   * @param task The hashing work
+   * @return The task result
+   * @throws ServiceUnavailableException if the queue is full
+   *
+   */
+  public <T> T execute(Supplier<T> task) {
+    Future<T> future;
+    try {
+      future = submit(task);
+    } catch (RejectedExecutionException e) {
+      throw shed();
+    }
+    return await(future);
+  }
+
+  /*
+   * Run a batch of hashing tasks in parallel and wait for all results.
+   * Back-pressure: a task is submitted only while fewer than poolSize - 1 (at
+   * least one) of the batch's tasks are unfinished; otherwise the batch first
+   * waits for its oldest task. If the shared queue is full, the batch also waits
+   * for its oldest task and retries, and is shed only when it has none left.
+   * @param tasks The hashing work, in order
+   * @return The task results, in the same order
+   * @throws ServiceUnavailableException if the queue is full and the batch has nothing in flight
+   *
+   */
+  public <T> List<T> executeAll(List<? extends Supplier<T>> tasks) {
+    int window = Math.max(1, executor.getMaximumPoolSize() - 1);
+    List<T> results = new ArrayList<>(tasks.size());
+    ArrayDeque<Future<T>> inFlight = new ArrayDeque<>();
+    for (Supplier<T> task : tasks) {
+      while (true) {
+        if (inFlight.size() >= window) {
+          results.add(await(inFlight.poll()));
+        }
+        try {
+          inFlight.add(submit(task));
+          break;
+        } catch (RejectedExecutionException e) {
+          if (inFlight.isEmpty()) {
+            throw shed();
+          }
+          results.add(await(inFlight.poll()));
+        }
+      }
+    }
+    while (!inFlight.isEmpty()) {
+      results.add(await(inFlight.poll()));
+    }
+    return results;
+  }
+
+  /*
+   * Check whether the queue is at most half full.
+   * Used to defer optional work such as rehashing during load spikes.
+   * @return true if there is spare hashing capacity
+   *
+   */
+  public boolean hasHeadroom() {
+    return executor.getQueue().remainingCapacity() >= executor.getQueue().size();
+  }
+
+  /*
+   * Report how full the hashing queue is.
+   * @return Fraction of queue capacity in use, between 0 and 1
+   *
+   */
+  public double saturation() {
+    int used = executor.getQueue().size();
+    int capacity = used + executor.getQueue().remainingCapacity();
+    return capacity == 0 ? 0 : (double) used / capacity;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private <T> Future<T> submit(Supplier<T> task) {
+    long submitted = System.nanoTime();
+    return executor.submit(
+        () -> {
+          long started = System.nanoTime();
+          waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+          try {
+            return task.get();
+          } finally {
+            hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+          }
+        });
+  }
+
+  private ServiceUnavailableException shed() {
+    rejected.increment();
+    return new ServiceUnavailableException("Password hashing capacity exceeded", retryAfterSeconds);
+  }
+
+  private static <T> T await(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+}
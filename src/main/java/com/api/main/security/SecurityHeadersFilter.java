@@ -5,8 +5,13 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -21,52 +26,109 @@ import org.springframework.stereotype.Component;
  * - Strict-Transport-Security: Enforces HTTPS connections
  * - Permissions-Policy: Disables unnecessary browser features
  * - Cache-Control: Prevents caching of sensitive data
+ * The header sets come from SecurityHeadersProperties and are compiled once into
+ * name/value arrays; per request the filter only looks up the set for the path
+ * (a map lookup, then prefix checks) and writes it, without allocating.
  * Runs with highest precedence to ensure headers are applied early.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class SecurityHeadersFilter implements Filter {
 
-  /* Initialization method for the filter */
+  private static final String PREFIX_WILDCARD = "/**";
+
+  private final HeaderSet defaults;
+  private final Map<String, HeaderSet> exactPaths = new HashMap<>();
+  private final String[] prefixes;
+  private final HeaderSet[] prefixHeaders;
+
+  public SecurityHeadersFilter(SecurityHeadersProperties properties) {
+    this.defaults = HeaderSet.of(properties.getDefaults());
+    List<String> prefixList = new ArrayList<>();
+    List<HeaderSet> prefixHeaderList = new ArrayList<>();
+    for (SecurityHeadersProperties.Profile profile : properties.getProfiles().values()) {
+      HeaderSet headers = HeaderSet.of(profile.getHeaders());
+      for (String path : profile.getPaths()) {
+        if (path.endsWith(PREFIX_WILDCARD)) {
+          prefixList.add(path.substring(0, path.length() - PREFIX_WILDCARD.length()));
+          prefixHeaderList.add(headers);
+        } else {
+          exactPaths.put(path, headers);
+        }
+      }
+    }
+    this.prefixes = prefixList.toArray(String[]::new);
+    this.prefixHeaders = prefixHeaderList.toArray(HeaderSet[]::new);
+  }
+
   @Override
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
       throws IOException, ServletException {
     if (response instanceof HttpServletResponse httpResponse) {
-      // Prevent clickjacking
-      httpResponse.setHeader("X-Frame-Options", "DENY");
+      HeaderSet headers =
+          request instanceof HttpServletRequest httpRequest
+              ? headersFor(httpRequest.getRequestURI())
+              : defaults;
+      headers.applyTo(httpResponse);
+    }
+    chain.doFilter(request, response);
+  }
 
-      // Prevent MIME type sniffing
-      httpResponse.setHeader("X-Content-Type-Options", "nosniff");
+  /*
+   * Find the header set for a request path.
+   * @param path The request URI
+   * @return The profile listing the path exactly, else the first matching prefix, else defaults
+   *
+   */
+  HeaderSet headersFor(String path) {
+    HeaderSet exact = exactPaths.get(path);
+    if (exact != null) {
+      return exact;
+    }
+    for (int i = 0; i < prefixes.length; i++) {
+      if (underPrefix(path, prefixes[i])) {
+        return prefixHeaders[i];
+      }
+    }
+    return defaults;
+  }
 
-      // Enable XSS filter in browsers
-      httpResponse.setHeader("X-XSS-Protection", "1; mode=block");
+  /* "/docs/**" covers "/docs" and "/docs/..." but not "/docsearch" */
+  private static boolean underPrefix(String path, String prefix) {
+    return path.startsWith(prefix)
+        && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+  }
 
-      // Control referrer information
-      httpResponse.setHeader("Referrer-Policy", "strict-origin-when-cross-origin");
+  /*
+   * Immutable, precompiled header names and values.
+   */
+  static final class HeaderSet {
 
-      // Content Security Policy - restrict resource loading
-      httpResponse.setHeader(
-          "Content-Security-Policy",
-          "default-src 'self'; "
-              + "script-src 'self'; "
-              + "style-src 'self' 'unsafe-inline'; "
-              + "img-src 'self' data:; "
-              + "font-src 'self'; "
-              + "frame-ancestors 'none'; "
-              + "form-action 'self'");
+    private final String[] names;
+    private final String[] values;
 
-      // HTTP Strict Transport Security (HSTS)
-      httpResponse.setHeader(
-          "Strict-Transport-Security", "max-age=31536000; includeSubDomains; preload");
+    private HeaderSet(String[] names, String[] values) {
+      this.names = names;
+      this.values = values;
+    }
 
-      // Permissions Policy - disable unnecessary features
-      httpResponse.setHeader(
-          "Permissions-Policy", "geolocation=(), microphone=(), camera=(), payment=(), usb=()");
+    static HeaderSet of(Map<String, String> headers) {
+      List<String> names = new ArrayList<>();
+      List<String> values = new ArrayList<>();
+      headers.forEach(
+          (name, value) -> {
+            if (value != null && !value.isBlank()) {
+              names.add(name);
+              values.add(value);
+            }
+          });
+      return new HeaderSet(names.toArray(String[]::new), values.toArray(String[]::new));
+    }
 
-      // Prevent caching of sensitive data
-      httpResponse.setHeader("Cache-Control", "no-store, no-cache, must-revalidate, private");
-      httpResponse.setHeader("Pragma", "no-cache");
+    void applyTo(HttpServletResponse response) {
+      for (int i = 0; i < names.length; i++) {
+        response.setHeader(names[i], values[i]);
+      }
     }
-    chain.doFilter(request, response);
   }
 }
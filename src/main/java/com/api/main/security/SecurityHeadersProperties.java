@@ -0,0 +1,91 @@
+package com.api.main.security;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Security headers written by SecurityHeadersFilter (security.headers.*).
+ * defaults applies to every response; a profile replaces it for the paths it
+ * lists (exact, or a prefix ending in /**). Header names are map keys, so they
+ * are written in brackets to keep their case, e.g.
+ * security.headers.defaults[X-Frame-Options]=SAMEORIGIN; an empty value drops
+ * the header.
+ */
+@Component
+@ConfigurationProperties(prefix = "security.headers")
+public class SecurityHeadersProperties {
+
+  private Map<String, String> defaults = defaultHeaders();
+  private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+  public Map<String, String> getDefaults() {
+    return defaults;
+  }
+
+  public void setDefaults(Map<String, String> defaults) {
+    this.defaults = defaults;
+  }
+
+  public Map<String, Profile> getProfiles() {
+    return profiles;
+  }
+
+  public void setProfiles(Map<String, Profile> profiles) {
+    this.profiles = profiles;
+  }
+
+  private static Map<String, String> defaultHeaders() {
+    Map<String, String> headers = new LinkedHashMap<>();
+    // Prevent clickjacking
+    headers.put("X-Frame-Options", "DENY");
+    // Prevent MIME type sniffing
+    headers.put("X-Content-Type-Options", "nosniff");
+    // Enable XSS filter in browsers
+    headers.put("X-XSS-Protection", "1; mode=block");
+    // Control referrer information
+    headers.put("Referrer-Policy", "strict-origin-when-cross-origin");
+    // Content Security Policy - restrict resource loading
+    headers.put(
+        "Content-Security-Policy",
+        "default-src 'self'; script-src 'self'; style-src 'self' 'unsafe-inline'; "
+            + "img-src 'self' data:; font-src 'self'; frame-ancestors 'none'; form-action 'self'");
+    // HTTP Strict Transport Security (HSTS)
+    headers.put("Strict-Transport-Security", "max-age=31536000; includeSubDomains; preload");
+    // Permissions Policy - disable unnecessary features
+    headers.put(
+        "Permissions-Policy", "geolocation=(), microphone=(), camera=(), payment=(), usb=()");
+    // Prevent caching of sensitive data
+    headers.put("Cache-Control", "no-store, no-cache, must-revalidate, private");
+    headers.put("Pragma", "no-cache");
+    return headers;
+  }
+
+  /*
+   * Header set for a group of paths.
+   */
+  public static class Profile {
+
+    private List<String> paths = new ArrayList<>();
+    private Map<String, String> headers = new LinkedHashMap<>();
+
+    public List<String> getPaths() {
+      return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+      this.paths = paths;
+    }
+
+    public Map<String, String> getHeaders() {
+      return headers;
+    }
+
+    public void setHeaders(Map<String, String> headers) {
+      this.headers = headers;
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.api.main.security;
+
+import java.time.Instant;
+
+/*
+ * Claims carried inside a signed token.
+ * Everything needed to authenticate a request is embedded, so a verified token
+ * can be turned into a principal without reading the tokens or users tables.
+ */
+public record SignedTokenClaims(
+    String username, String role, Instant issuedAt, Instant expiresAt, String tokenId) {}
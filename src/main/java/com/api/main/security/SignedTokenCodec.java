@@ -0,0 +1,188 @@
+package com.api.main.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Issues and verifies self-contained signed tokens (compact JWS, HS256).
+ * Enabled with token.format=signed and a Base64 key of at least 256 bits in
+ * token.signing-key. The payload carries subject, role, issue and expiry times
+ * and a unique id, so verification is a local HMAC check plus a clock comparison.
+ * Signatures are compared in constant time; tokens with any other algorithm,
+ * malformed parts or an elapsed expiry are rejected.
+ * Mac instances are not thread-safe, so initialized copies of one prototype are
+ * shared through a StripedPool.
+ */
+@Component
+public class SignedTokenCodec {
+
+  public static final String FORMAT_SIGNED = "signed";
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int MIN_KEY_BYTES = 32;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private static final String ENCODED_HEADER =
+      ENCODER.encodeToString(
+          "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+  private final ObjectMapper objectMapper;
+  private final TokenMinter tokenMinter;
+  private final boolean enabled;
+  private final StripedPool<Mac> mac;
+
+  public SignedTokenCodec(
+      ObjectMapper objectMapper,
+      TokenMinter tokenMinter,
+      @Value("${token.format:opaque}") String format,
+      @Value("${token.signing-key:}") String signingKey) {
+    this.objectMapper = objectMapper;
+    this.tokenMinter = tokenMinter;
+    this.enabled = FORMAT_SIGNED.equalsIgnoreCase(format);
+
+    if (!enabled) {
+      this.mac = null;
+      return;
+    }
+    byte[] key = signingKey.isBlank() ? new byte[0] : Base64.getDecoder().decode(signingKey);
+    if (key.length < MIN_KEY_BYTES) {
+      throw new IllegalStateException(
+          "token.signing-key must be a Base64 key of at least " + MIN_KEY_BYTES + " bytes");
+    }
+    Mac prototype = initMac(key);
+    this.mac =
+        new StripedPool<>(
+            () -> {
+              try {
+                return (Mac) prototype.clone();
+              } catch (CloneNotSupportedException e) {
+                return initMac(key);
+              }
+            });
+  }
+
+  /*
+   * Check whether signed tokens are issued and accepted.
+   * @return true when token.format=signed
+   *
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /*
+   * Check whether a presented token has the shape of a signed token.
+   * @param token The raw token value
+   * @return true if the token has three dot-separated parts
+   *
+   */
+  public boolean isSignedToken(String token) {
+    int first = token.indexOf('.');
+    return first > 0 && token.indexOf('.', first + 1) > first + 1;
+  }
+
+  /*
+   * Issue a signed token.
+   * @param username Subject of the token
+   * @param role Role embedded in the token
+   * @param issuedAt Issue timestamp
+   * @param expiresAt Expiry timestamp
+   * @return Compact token "header.payload.signature"
+   *
+   */
+  public String issue(String username, String role, Instant issuedAt, Instant expiresAt) {
+    ObjectNode payload = objectMapper.createObjectNode();
+    payload.put("sub", username);
+    payload.put("role", role);
+    // Fractional NumericDate keeps millisecond precision for per-user revocation checks
+    payload.put("iat", BigDecimal.valueOf(issuedAt.toEpochMilli(), 3));
+    payload.put("exp", expiresAt.getEpochSecond());
+    payload.put("jti", tokenMinter.mint());
+
+    String signingInput;
+    try {
+      signingInput =
+          ENCODED_HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(payload));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not encode token payload", e);
+    }
+    return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+  }
+
+  /*
+   * Verify a signed token and return its claims.
+   * @param token The raw token value
+   * @param now Current timestamp used for the expiry check
+   * @return Optional containing the claims if the signature is valid and the token unexpired
+   *
+   */
+  public Optional<SignedTokenClaims> verify(String token, Instant now) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    int first = token.indexOf('.');
+    int second = token.indexOf('.', first + 1);
+    if (first <= 0 || second <= first + 1 || token.indexOf('.', second + 1) >= 0) {
+      return Optional.empty();
+    }
+    String header = token.substring(0, first);
+    String signingInput = token.substring(0, second);
+    try {
+      byte[] signature = DECODER.decode(token.substring(second + 1));
+      if (!header.equals(ENCODED_HEADER)
+          || !MessageDigest.isEqual(sign(signingInput), signature)) {
+        return Optional.empty();
+      }
+      JsonNode payload = objectMapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+      Instant expiresAt = Instant.ofEpochSecond(payload.path("exp").asLong());
+      if (!expiresAt.isAfter(now) || payload.path("sub").asText().isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          new SignedTokenClaims(
+              payload.path("sub").asText(),
+              payload.path("role").asText(),
+              Instant.ofEpochMilli(Math.round(payload.path("iat").asDouble() * 1000)),
+              expiresAt,
+              payload.path("jti").asText()));
+    } catch (IllegalArgumentException | IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Mac initMac(byte[] key) {
+    try {
+      Mac instance = Mac.getInstance(ALGORITHM);
+      instance.init(new SecretKeySpec(key, ALGORITHM));
+      return instance;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HmacSHA256 is not available", e);
+    }
+  }
+
+  private byte[] sign(String signingInput) {
+    Mac instance = mac.acquire();
+    try {
+      // doFinal() leaves the instance reset for the next caller
+      return instance.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    } finally {
+      mac.release(instance);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.api.main.security;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/*
+ * Small lock-free pool for non-thread-safe objects that are costly to create
+ * (MessageDigest, Mac, seeded SecureRandom).
+ * Unlike a ThreadLocal it keeps working when every request runs on a fresh
+ * virtual thread: instances are shared by all threads and reused, and the pool
+ * holds at most two per core. A thread takes an instance from one of a few slots
+ * chosen by its id and puts it back when done; if those slots are empty it
+ * creates one, and if they are full on return the extra instance is dropped.
+ */
+final class StripedPool<T> {
+
+  private static final int PROBES = 4;
+
+  private final AtomicReferenceArray<T> slots;
+  private final int mask;
+  private final Supplier<T> factory;
+
+  StripedPool(Supplier<T> factory) {
+    int wanted = Math.max(PROBES, Runtime.getRuntime().availableProcessors() * 2);
+    int size = Integer.highestOneBit(wanted - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.factory = factory;
+  }
+
+  /*
+   * Take an instance for the exclusive use of the caller.
+   * @return A pooled instance, or a new one if none is free
+   *
+   */
+  T acquire() {
+    int start = start();
+    for (int i = 0; i < PROBES; i++) {
+      T instance = slots.getAndSet((start + i) & mask, null);
+      if (instance != null) {
+        return instance;
+      }
+    }
+    return factory.get();
+  }
+
+  /*
+   * Return an instance taken with acquire; it must be in its reset state.
+   * @param instance The instance to return
+   *
+   */
+  void release(T instance) {
+    int start = start();
+    for (int i = 0; i < PROBES; i++) {
+      if (slots.compareAndSet((start + i) & mask, null, instance)) {
+        return;
+      }
+    }
+  }
+
+  private int start() {
+    long id = Thread.currentThread().threadId();
+    int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,58 @@
+package com.api.main.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/*
+ * Utility for deriving the stored form of a token.
+ * Tokens are persisted and looked up only by their 32-byte SHA-256 digest,
+ * so the raw value exists solely in the login response and in client requests.
+ * A database leak therefore exposes no usable tokens.
+ * The Base64url form of the digest is used as a key for caches and
+ * revocation events, which keeps raw tokens out of memory and off the wire.
+ * MessageDigest instances are not thread-safe, so they are shared through a StripedPool.
+ */
+public final class TokenHasher {
+
+  public static final int HASH_LENGTH = 32;
+
+  private static final StripedPool<MessageDigest> SHA_256 =
+      new StripedPool<>(
+          () -> {
+            try {
+              return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+              throw new IllegalStateException("SHA-256 is not available", e);
+            }
+          });
+
+  private TokenHasher() {}
+
+  /*
+   * Compute the SHA-256 digest of a raw token.
+   * @param token The raw token value
+   * @return 32-byte digest
+   *
+   */
+  public static byte[] hash(String token) {
+    MessageDigest digest = SHA_256.acquire();
+    try {
+      // digest() leaves the instance reset for the next caller
+      return digest.digest(token.getBytes(StandardCharsets.UTF_8));
+    } finally {
+      SHA_256.release(digest);
+    }
+  }
+
+  /*
+   * Encode a digest as an unpadded Base64url key.
+   * @param hash The token digest
+   * @return 43-character key
+   *
+   */
+  public static String key(byte[] hash) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+  }
+}
@@ -0,0 +1,122 @@
+package com.api.main.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Source of opaque token values.
+ * DRBG SecureRandom instances are seeded once and shared through a StripedPool,
+ * so login threads, including short-lived virtual threads, neither pay seeding
+ * cost per token nor contend on a single generator.
+ * When prefill is enabled, a background thread keeps a bounded lock-free buffer
+ * of ready tokens topped up, and mint() only has to take one; if the buffer runs
+ * dry, the caller generates its own token instead of waiting.
+ * Tokens are 32 random bytes (256 bits), Base64url-encoded without padding.
+ */
+@Component
+public class TokenMinter {
+
+  private static final int TOKEN_BYTES = 32;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private static final StripedPool<SecureRandom> RANDOM =
+      new StripedPool<>(
+          () -> {
+            try {
+              return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+              return new SecureRandom();
+            }
+          });
+
+  private final ConcurrentLinkedQueue<String> buffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger buffered = new AtomicInteger();
+  private final int capacity;
+  private final int lowWatermark;
+  private final boolean prefill;
+
+  private volatile boolean running;
+  private Thread refiller;
+
+  public TokenMinter(
+      @Value("${token.minter.buffer-size:1024}") int capacity,
+      @Value("${token.minter.prefill:true}") boolean prefill) {
+    this.capacity = capacity;
+    this.lowWatermark = capacity / 2;
+    this.prefill = prefill && capacity > 0;
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!prefill) {
+      return;
+    }
+    running = true;
+    refiller = new Thread(this::refill, "token-minter");
+    refiller.setDaemon(true);
+    refiller.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (refiller != null) {
+      LockSupport.unpark(refiller);
+    }
+  }
+
+  /*
+   * Take a token from the buffer, or generate one if the buffer is empty.
+   * @return A fresh opaque token
+   *
+   */
+  public String mint() {
+    if (!prefill) {
+      return generate();
+    }
+    String token = buffer.poll();
+    if (token == null) {
+      LockSupport.unpark(refiller);
+      return generate();
+    }
+    if (buffered.decrementAndGet() < lowWatermark) {
+      LockSupport.unpark(refiller);
+    }
+    return token;
+  }
+
+  /*
+   * Generate a token on the calling thread, bypassing the buffer.
+   * @return A fresh opaque token
+   *
+   */
+  public String generate() {
+    byte[] randomBytes = new byte[TOKEN_BYTES];
+    SecureRandom random = RANDOM.acquire();
+    try {
+      random.nextBytes(randomBytes);
+    } finally {
+      RANDOM.release(random);
+    }
+    return ENCODER.encodeToString(randomBytes);
+  }
+
+  private void refill() {
+    while (running) {
+      while (running && buffered.get() < capacity) {
+        buffer.offer(generate());
+        buffered.incrementAndGet();
+      }
+      LockSupport.park(this);
+    }
+  }
+}
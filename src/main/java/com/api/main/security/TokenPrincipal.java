@@ -0,0 +1,11 @@
+package com.api.main.security;
+
+import java.time.Instant;
+
+/*
+ * Read-only view of an active token joined with its owner.
+ * Produced by a single JPQL constructor query so that bearer authentication
+ * needs one indexed lookup instead of a token read plus a user read.
+ * Carries only what the security context needs: who, which role, until when.
+ */
+public record TokenPrincipal(String username, String role, Instant expiresAt) {}
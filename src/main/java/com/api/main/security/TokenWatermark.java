@@ -0,0 +1,35 @@
+package com.api.main.security;
+
+import java.time.Instant;
+
+/*
+ * Per-user token state stored on the users row.
+ * - tokensValidAfter: tokens created at or before it are revoked (bulk logout)
+ * - lastIssuedAt: creation time of the latest token, null once it is revoked
+ * Both checks are timestamp comparisons, so neither needs to scan the user's tokens.
+ */
+public record TokenWatermark(String username, Instant tokensValidAfter, Instant lastIssuedAt) {
+
+  public static TokenWatermark none(String username) {
+    return new TokenWatermark(username, null, null);
+  }
+
+  /*
+   * Check whether a token created at the given instant survives bulk revocation.
+   * @param createdAt The token's creation or issue time
+   * @return true if the token was created after the watermark
+   *
+   */
+  public boolean isValid(Instant createdAt) {
+    return tokensValidAfter == null || createdAt.isAfter(tokensValidAfter);
+  }
+
+  /*
+   * Check whether the user's latest token is revoked or missing.
+   * @return true if there is no usable latest token
+   *
+   */
+  public boolean isLatestRevoked() {
+    return lastIssuedAt == null || !isValid(lastIssuedAt);
+  }
+}
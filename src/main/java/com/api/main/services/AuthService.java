@@ -2,21 +2,29 @@ package com.api.main.services;
 
 import com.api.main.dto.LoginRequest;
 import com.api.main.dto.LoginResponse;
+import com.api.main.dto.UserProfileView;
 import com.api.main.dto.UserResponse;
 import com.api.main.entity.Token;
 import com.api.main.entity.User;
+import com.api.main.exceptions.OperationRejectedException;
 import com.api.main.repositories.TokenRepository;
 import com.api.main.repositories.UserRepository;
+import com.api.main.security.AuthenticationPhases;
+import com.api.main.security.SignedTokenCodec;
+import com.api.main.security.TokenHasher;
+import com.api.main.security.TokenMinter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Base64;
 import java.util.Collections;
-import java.util.UUID;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,16 +34,30 @@ import org.springframework.transaction.annotation.Transactional;
  * Handles user login, registration, and logout functionality.
  * Generates and validates tokens for authenticated sessions.
  * Stores tokens in database for revocation support.
+ * Token reads and revocations go through TokenService and its cache.
+ * User reads go through UserDetailsCache; every user write evicts it.
  * Uses transactional operations for data consistency.
  * Passwords are hashed using BCrypt before storage.
+ * Every public method is timed as auth.service (tags class, method, exception);
+ * Login phases are timed as auth.authenticate.phase (see AuthenticationPhases):
+ * user lookup and password check are timed around the AuthenticationProvider's
+ * collaborators, token mint and token store here.
  */
 @Service
+@Timed(value = "auth.service", description = "AuthService method calls", histogram = true)
 public class AuthService {
 
   private final UserRepository userRepository;
   private final TokenRepository tokenRepository;
   private final PasswordEncoder passwordEncoder;
   private final AuthenticationManager authenticationManager;
+  private final TokenService tokenService;
+  private final SignedTokenCodec signedTokenCodec;
+  private final TokenMinter tokenMinter;
+  private final UserDetailsCache userDetailsCache;
+  private final ReplicaPinning replicaPinning;
+  private final Timer mintTimer;
+  private final Timer storeTimer;
 
   @Value("${token.expiration:86400000}")
   private Long tokenExpiration;
@@ -44,80 +66,134 @@ public class AuthService {
       UserRepository userRepository,
       TokenRepository tokenRepository,
       PasswordEncoder passwordEncoder,
-      AuthenticationManager authenticationManager) {
+      AuthenticationManager authenticationManager,
+      TokenService tokenService,
+      SignedTokenCodec signedTokenCodec,
+      TokenMinter tokenMinter,
+      UserDetailsCache userDetailsCache,
+      ReplicaPinning replicaPinning,
+      MeterRegistry meterRegistry) {
     this.userRepository = userRepository;
     this.tokenRepository = tokenRepository;
     this.passwordEncoder = passwordEncoder;
     this.authenticationManager = authenticationManager;
+    this.tokenService = tokenService;
+    this.signedTokenCodec = signedTokenCodec;
+    this.tokenMinter = tokenMinter;
+    this.userDetailsCache = userDetailsCache;
+    this.replicaPinning = replicaPinning;
+    this.mintTimer = AuthenticationPhases.timer(meterRegistry, AuthenticationPhases.TOKEN_MINT);
+    this.storeTimer = AuthenticationPhases.timer(meterRegistry, AuthenticationPhases.TOKEN_STORE);
   }
 
   public boolean isTokenRevokedForUser(String username) {
-    return tokenRepository
-        .findTopByUsernameOrderByExpiresAtDesc(username)
-        .map(Token::isRevoked)
-        .orElse(true);
+    return tokenService.isRevokedForUser(username);
   }
 
+  /*
+   * Authenticate the credentials and issue a token.
+   * Only credential and account-status failures become BadCredentialsException;
+   * an InternalAuthenticationServiceException (e.g. the user lookup timing out
+   * on the connection pool) propagates to GlobalExceptionHandler.
+   * @param request The login request
+   * @return LoginResponse carrying the new token
+   * @throws BadCredentialsException if the credentials are wrong or the account is unusable
+   *
+   */
   @Transactional
   public LoginResponse authenticate(LoginRequest request) {
     try {
       authenticationManager.authenticate(
           new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
 
-      User user =
-          userRepository
-              .findByUsername(request.getUsername())
-              .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
-
-      String tokenValue = generateToken();
-
-      Instant now = Instant.now();
-      Instant expiresAt = now.plus(tokenExpiration, ChronoUnit.MILLIS);
-      Token token = new Token(tokenValue, user.getUsername(), now, expiresAt);
-      tokenRepository.save(token);
-
-      return new LoginResponse("success", "Authentication successful", tokenValue);
-    } catch (AuthenticationException e) {
+      return issueToken(request.getUsername());
+    } catch (BadCredentialsException | AccountStatusException e) {
       throw new BadCredentialsException("Invalid username or password");
     }
   }
 
+  private LoginResponse issueToken(String username) {
+    UserSnapshot user =
+        findUser(username).orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+
+    // Stored timestamps keep microseconds; truncating keeps watermark comparisons exact
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    Instant expiresAt = now.plus(tokenExpiration, ChronoUnit.MILLIS);
+    String tokenValue =
+        mintTimer.record(
+            () ->
+                signedTokenCodec.isEnabled()
+                    ? signedTokenCodec.issue(user.username(), user.role(), now, expiresAt)
+                    : generateToken());
+
+    Token token = new Token(TokenHasher.hash(tokenValue), user.username(), now, expiresAt);
+    storeTimer.record(
+        () -> {
+          tokenRepository.save(token);
+          tokenService.tokenIssued(user.username(), now);
+        });
+
+    return new LoginResponse("success", "Authentication successful", tokenValue);
+  }
+
   private String generateToken() {
-    byte[] randomBytes = new byte[32];
-    new java.security.SecureRandom().nextBytes(randomBytes);
-    return UUID.randomUUID().toString()
-        + "-"
-        + Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    return tokenMinter.mint();
   }
 
+  private Optional<UserSnapshot> findUser(String username) {
+    return userDetailsCache.get(
+        username, () -> userRepository.findByUsername(username).map(UserSnapshot::of));
+  }
+
+  /*
+   * Build the profile of the authenticated user.
+   * Served from the user and revocation caches when the user is cached;
+   * otherwise the profile and the token watermark are read together with a
+   * single projection query.
+   * The projection query may be served by a read replica; a missing user or a
+   * revoked watermark is confirmed on the primary before the request is rejected.
+   * @param username The authenticated username
+   * @return UserResponse for the user
+   * @throws OperationRejectedException if the user does not exist or its latest token is revoked
+   *
+   */
   public UserResponse getCurrentUser(String username) {
-    User user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    Optional<UserSnapshot> cached = userDetailsCache.getIfPresent(username);
+    if (cached.isPresent()) {
+      if (isTokenRevokedForUser(username)) {
+        throw new OperationRejectedException("Token is revoked");
+      }
+      UserSnapshot user = cached.get();
+      return new UserResponse(
+          user.id(), user.username(), user.email(), Collections.singletonList(user.role()));
+    }
+
+    UserProfileView profile =
+        replicaPinning
+            .readForUser(
+                username,
+                () -> userRepository.findProfileByUsername(username),
+                found -> found.map(UserProfileView::isRevoked).orElse(true))
+            .orElseThrow(() -> new OperationRejectedException("User not found"));
 
-    if (isTokenRevokedForUser(username)) {
-      throw new RuntimeException("Token is revoked");
+    if (profile.isRevoked()) {
+      throw new OperationRejectedException("Token is revoked");
     }
 
-    return new UserResponse(
-        user.getId(),
-        user.getUsername(),
-        user.getEmail(),
-        Collections.singletonList(user.getRole()));
+    return profile.toResponse();
   }
 
   @Transactional
   public User registerUser(
       String username, String email, String password, String role, String createdBy) {
     if (isTokenRevokedForUser(createdBy)) {
-      throw new RuntimeException("Token is revoked");
+      throw new OperationRejectedException("Token is revoked");
     }
     if (userRepository.existsByUsername(username)) {
-      throw new RuntimeException("Username already exists");
+      throw new OperationRejectedException("Username already exists");
     }
     if (userRepository.existsByEmail(email)) {
-      throw new RuntimeException("Email already exists");
+      throw new OperationRejectedException("Email already exists");
     }
 
     User user = new User();
@@ -127,26 +203,22 @@ public class AuthService {
     user.setRole(role);
     user.setEnabled(true);
 
-    return userRepository.save(user);
+    User saved = userRepository.save(user);
+    userDetailsCache.evict(username);
+    return saved;
   }
 
   @Transactional
   public void logout(String token) {
-    tokenRepository
-        .findByToken(token)
-        .ifPresent(
-            t -> {
-              t.setRevoked(true);
-              tokenRepository.save(t);
-            });
+    tokenService.revoke(token);
   }
 
   @Transactional
   public void logoutByUsername(String username) {
-    tokenRepository.revokeAllUserTokens(username);
+    tokenService.revokeAllForUser(username);
   }
 
   public boolean isTokenValid(String token) {
-    return tokenRepository.findByTokenAndRevokedFalse(token).isPresent();
+    return tokenService.resolve(token).isPresent();
   }
 }
@@ -0,0 +1,48 @@
+package com.api.main.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Single-instance RevocationEventBus that delivers events within the JVM.
+ * Used for tests and single-node deployments; it is the default when
+ * token.revocation.bus is not set.
+ * Events published inside a transaction are delivered after it commits.
+ */
+@Component
+@ConditionalOnProperty(name = "token.revocation.bus", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRevocationEventBus implements RevocationEventBus {
+
+  private final List<Consumer<RevocationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(RevocationEvent event) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              deliver(event);
+            }
+          });
+    } else {
+      deliver(event);
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<RevocationEvent> listener) {
+    listeners.add(listener);
+  }
+
+  private void deliver(RevocationEvent event) {
+    for (Consumer<RevocationEvent> listener : listeners) {
+      listener.accept(event);
+    }
+  }
+}
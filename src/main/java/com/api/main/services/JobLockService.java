@@ -0,0 +1,79 @@
+package com.api.main.services;
+
+import com.api.main.entity.JobLock;
+import com.api.main.repositories.JobLockRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Service for coordinating background jobs across application instances.
+ * Uses a lease row per job in the job_locks table instead of database-specific
+ * advisory locks, so it behaves the same on PostgreSQL and on the H2 test profile.
+ * Each acquire and release commits in its own transaction so the lease is visible
+ * to other instances immediately and is not held open while the job runs.
+ */
+@Service
+public class JobLockService {
+
+  private final JobLockRepository jobLockRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final String instanceId =
+      ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+  public JobLockService(
+      JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager) {
+    this.jobLockRepository = jobLockRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /*
+   * Try to take the lease for a job.
+   * @param name Name of the job
+   * @param leaseDuration How long the lease is held unless released earlier
+   * @return true if this instance now holds the lease
+   *
+   */
+  public boolean tryAcquire(String name, Duration leaseDuration) {
+    Instant now = Instant.now();
+    Instant until = now.plus(leaseDuration);
+    Integer updated =
+        transactionTemplate.execute(
+            status -> jobLockRepository.acquire(name, instanceId, now, until));
+    if (updated != null && updated > 0) {
+      return true;
+    }
+    try {
+      Boolean inserted =
+          transactionTemplate.execute(
+              status -> {
+                if (jobLockRepository.existsById(name)) {
+                  return false;
+                }
+                jobLockRepository.saveAndFlush(new JobLock(name, until, instanceId));
+                return true;
+              });
+      return Boolean.TRUE.equals(inserted);
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  /*
+   * Release a lease held by this instance.
+   * @param name Name of the job
+   *
+   */
+  public void release(String name) {
+    transactionTemplate.executeWithoutResult(
+        status -> jobLockRepository.release(name, instanceId, Instant.now()));
+  }
+}
@@ -0,0 +1,44 @@
+package com.api.main.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Last invalidation of each cache key, as a number from one increasing sequence.
+ * A cache load reads current() before querying, puts its result, then drops it
+ * again if changedSince(key, start): an invalidation that ran at any point after
+ * the load started, including between the check and the put, is never lost,
+ * and invalidations of other keys leave the load alone.
+ * Keys share a fixed number of stripes, so memory stays bounded; a collision
+ * only makes a load skip caching, never keeps an invalidated entry.
+ */
+final class KeyVersions {
+
+  private static final int STRIPES = 4096;
+
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+  private volatile long allStamp;
+
+  long current() {
+    return sequence.get();
+  }
+
+  void stamp(String key) {
+    long version = sequence.incrementAndGet();
+    stamps.accumulateAndGet(stripe(key), version, Math::max);
+  }
+
+  void stampAll() {
+    allStamp = sequence.incrementAndGet();
+  }
+
+  boolean changedSince(String key, long start) {
+    return stamps.get(stripe(key)) > start || allStamp > start;
+  }
+
+  private static int stripe(String key) {
+    int hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+  }
+}
@@ -0,0 +1,143 @@
+package com.api.main.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+/*
+ * RevocationEventBus backed by PostgreSQL LISTEN/NOTIFY.
+ * Publishing runs pg_notify on the caller's connection, so inside a transaction
+ * PostgreSQL only delivers the notification once the transaction commits.
+ * A background thread holds a dedicated connection outside the pool, LISTENs on
+ * the channel and dispatches notifications to local listeners; delivery delay is
+ * bounded by token.revocation.poll-interval.
+ * If the listening connection drops, notifications may be lost, so an ALL event
+ * is dispatched locally before reconnecting to force a full cache reload.
+ */
+@Component
+@ConditionalOnProperty(name = "token.revocation.bus", havingValue = "postgres")
+public class PostgresRevocationEventBus implements RevocationEventBus {
+
+  private static final Logger log = LoggerFactory.getLogger(PostgresRevocationEventBus.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DataSource listenerDataSource;
+  private final List<Consumer<RevocationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+  @Value("${token.revocation.channel:token_revocations}")
+  private String channel;
+
+  @Value("${token.revocation.poll-interval:500}")
+  private int pollIntervalMillis;
+
+  @Value("${token.revocation.reconnect-delay:2000}")
+  private long reconnectDelayMillis;
+
+  private volatile boolean running;
+  private Thread listenerThread;
+
+  public PostgresRevocationEventBus(
+      JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.listenerDataSource =
+        dataSourceProperties
+            .initializeDataSourceBuilder()
+            .type(SimpleDriverDataSource.class)
+            .build();
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!channel.matches("[a-z_][a-z0-9_]*")) {
+      throw new IllegalStateException("Invalid revocation channel name: " + channel);
+    }
+    running = true;
+    listenerThread = new Thread(this::listen, "revocation-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+      listenerThread.join(pollIntervalMillis * 2L);
+    }
+  }
+
+  @Override
+  public void publish(RevocationEvent event) {
+    jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, event.encode());
+  }
+
+  @Override
+  public void subscribe(Consumer<RevocationEvent> listener) {
+    listeners.add(listener);
+  }
+
+  private void listen() {
+    while (running) {
+      try (Connection connection = listenerDataSource.getConnection()) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMillis);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              dispatch(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Revocation listener connection lost, reconnecting: {}", e.getMessage());
+        deliver(RevocationEvent.all());
+        try {
+          Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void dispatch(String payload) {
+    try {
+      deliver(RevocationEvent.decode(payload));
+    } catch (IllegalArgumentException e) {
+      log.warn("Ignoring malformed revocation event: {}", payload);
+    }
+  }
+
+  private void deliver(RevocationEvent event) {
+    for (Consumer<RevocationEvent> listener : listeners) {
+      try {
+        listener.accept(event);
+      } catch (RuntimeException e) {
+        log.error("Revocation listener failed for {}", event.type(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.api.main.services;
+
+import com.api.main.constants.Constants;
+import com.api.main.dto.ReadinessResponse;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/*
+ * Exposes the cached readiness checks as the "readiness" component of the actuator
+ * health endpoint, served on the management port to authenticated admins only.
+ * The public /health/ready reports just UP or DOWN; pool counts, hash saturation
+ * and database latency stay here and in the Prometheus metrics.
+ */
+@Component
+public class ReadinessHealthIndicator implements HealthIndicator {
+
+  private final ReadinessProbe readinessProbe;
+
+  public ReadinessHealthIndicator(ReadinessProbe readinessProbe) {
+    this.readinessProbe = readinessProbe;
+  }
+
+  @Override
+  public Health health() {
+    ReadinessResponse readiness = readinessProbe.current();
+    Health.Builder builder = Constants.UP.equals(readiness.status()) ? Health.up() : Health.down();
+    if (readiness.checkedAt() != null) {
+      builder.withDetail("checkedAt", readiness.checkedAt());
+    }
+    return builder.withDetail("checks", readiness.checks()).build();
+  }
+}
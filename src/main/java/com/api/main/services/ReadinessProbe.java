@@ -0,0 +1,182 @@
+package com.api.main.services;
+
+import com.api.main.constants.Constants;
+import com.api.main.dto.HealthCheck;
+import com.api.main.dto.ReadinessResponse;
+import com.api.main.security.PasswordHashExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+/*
+ * Readiness probes, run in the background and served from cache.
+ * Every health.probe.interval a dedicated thread checks:
+ * - database: a primary connection passes Connection.isValid
+ * - connectionPool: the pool is not exhausted with requests waiting for it
+ * - passwordHashing: the hash queue is below health.password-hash.max-saturation
+ * /health/ready only reads the last result, so frequent load balancer checks
+ * never touch the database or wait for a slow probe. A result older than
+ * health.probe.max-age (a probe stuck on the database) is reported DOWN, as is
+ * the application once Spring starts refusing traffic during shutdown.
+ */
+@Component
+public class ReadinessProbe {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadinessProbe.class);
+
+  private static final ReadinessResponse STARTING =
+      new ReadinessResponse(Constants.DOWN, null, Map.of());
+
+  private final DataSource dataSource;
+  private final ObjectProvider<PasswordHashExecutor> passwordHashExecutor;
+  private final ApplicationAvailability applicationAvailability;
+  private final ScheduledExecutorService scheduler;
+  private volatile ReadinessResponse last = STARTING;
+  private volatile long lastCheckedNanos;
+
+  @Value("${health.probe.interval:2000}")
+  private long intervalMillis;
+
+  @Value("${health.probe.max-age:10000}")
+  private long maxAgeMillis;
+
+  @Value("${health.probe.timeout:1000}")
+  private long timeoutMillis;
+
+  @Value("${health.password-hash.max-saturation:1.0}")
+  private double maxHashSaturation;
+
+  public ReadinessProbe(
+      DataSource dataSource,
+      ObjectProvider<PasswordHashExecutor> passwordHashExecutor,
+      ApplicationAvailability applicationAvailability) {
+    this.dataSource = dataSource;
+    this.passwordHashExecutor = passwordHashExecutor;
+    this.applicationAvailability = applicationAvailability;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "readiness-probe");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    scheduler.shutdownNow();
+  }
+
+  /*
+   * Return the cached readiness, adjusted for staleness and shutdown.
+   * @return The last probe results; DOWN if none yet, stale, or refusing traffic
+   *
+   */
+  public ReadinessResponse current() {
+    ReadinessResponse report = last;
+    if (applicationAvailability.getReadinessState() == ReadinessState.REFUSING_TRAFFIC) {
+      return down(report, "application", Map.of("readiness", ReadinessState.REFUSING_TRAFFIC));
+    }
+    if (report.checkedAt() == null) {
+      return report;
+    }
+    long ageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastCheckedNanos);
+    if (ageMillis > maxAgeMillis) {
+      return down(report, "probe", Map.of("ageMillis", ageMillis));
+    }
+    return report;
+  }
+
+  /* Run every probe and replace the cached result */
+  void refresh() {
+    try {
+      HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+      Map<String, HealthCheck> checks = new LinkedHashMap<>();
+      checks.put("database", checkDatabase(hikari != null ? hikari : dataSource));
+      if (hikari != null) {
+        checks.put("connectionPool", checkPool(hikari));
+      }
+      PasswordHashExecutor executor = passwordHashExecutor.getIfAvailable();
+      if (executor != null) {
+        checks.put("passwordHashing", checkPasswordHashing(executor));
+      }
+      boolean up = checks.values().stream().allMatch(check -> Constants.UP.equals(check.status()));
+      last = new ReadinessResponse(up ? Constants.UP : Constants.DOWN, Instant.now(), checks);
+      lastCheckedNanos = System.nanoTime();
+      if (!up) {
+        log.warn("Readiness probe failed: {}", checks);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Readiness probe could not run", e);
+    }
+  }
+
+  private HealthCheck checkDatabase(DataSource primary) {
+    long started = System.nanoTime();
+    int timeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis));
+    try (Connection connection = primary.getConnection()) {
+      boolean valid = connection.isValid(timeoutSeconds);
+      return new HealthCheck(
+          valid ? Constants.UP : Constants.DOWN, Map.of("latencyMillis", elapsedMillis(started)));
+    } catch (SQLException | RuntimeException e) {
+      return new HealthCheck(
+          Constants.DOWN,
+          Map.of("latencyMillis", elapsedMillis(started), "error", e.getClass().getSimpleName()));
+    }
+  }
+
+  private HealthCheck checkPool(HikariDataSource hikari) {
+    HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+    if (pool == null) {
+      return new HealthCheck(Constants.DOWN, Map.of());
+    }
+    int active = pool.getActiveConnections();
+    int waiting = pool.getThreadsAwaitingConnection();
+    int max = hikari.getMaximumPoolSize();
+    boolean exhausted = active >= max && waiting > 0;
+    Map<String, Object> details =
+        Map.of("active", active, "idle", pool.getIdleConnections(), "max", max, "waiting", waiting);
+    return new HealthCheck(exhausted ? Constants.DOWN : Constants.UP, details);
+  }
+
+  private HealthCheck checkPasswordHashing(PasswordHashExecutor executor) {
+    double saturation = executor.saturation();
+    return new HealthCheck(
+        saturation < maxHashSaturation ? Constants.UP : Constants.DOWN,
+        Map.of("saturation", saturation));
+  }
+
+  private static ReadinessResponse down(
+      ReadinessResponse report, String check, Map<String, Object> details) {
+    Map<String, HealthCheck> checks = new LinkedHashMap<>(report.checks());
+    checks.put(check, new HealthCheck(Constants.DOWN, details));
+    return new ReadinessResponse(Constants.DOWN, report.checkedAt(), checks);
+  }
+
+  private static long elapsedMillis(long startedNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+  }
+}
@@ -0,0 +1,187 @@
+package com.api.main.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Read-your-writes protection for reads served by a replica.
+ * A user or token is pinned to the primary for db.replica.pin-window after it
+ * was written on this instance, or after a revocation event for it arrived from
+ * another instance, so a lagging replica cannot hand an old token state or user
+ * row back to the caches. Local writes pin immediately and again after commit.
+ * Reads of pinned subjects run inside onPrimary, which the replica routing
+ * DataSource honours when it picks a connection. A read-only transaction may
+ * already hold a replica connection, so inside one the read runs in its own
+ * read-only REQUIRES_NEW transaction (taking a second, primary connection).
+ * A replica answer that would reject the caller (unknown token, revoked
+ * watermark, missing user) is confirmed on the primary, because the replica may
+ * not have replayed a login or registration made on another instance yet.
+ * Without db.replica.urls every read goes to the primary and nothing is repeated.
+ */
+@Component
+public class ReplicaPinning {
+
+  private static final long MAX_PINNED = 100_000;
+
+  private final Cache<String, Boolean> pinned;
+  private final long windowMillis;
+  private final boolean replicas;
+  private final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+  // Resolved lazily: the transaction manager depends on the DataSource, which depends on this
+  private final ObjectProvider<PlatformTransactionManager> transactionManager;
+  private volatile TransactionTemplate ownTransaction;
+  private volatile long allPinnedUntil;
+
+  public ReplicaPinning(
+      RevocationEventBus revocationEventBus,
+      ObjectProvider<PlatformTransactionManager> transactionManager,
+      @Value("${db.replica.urls:}") String replicaUrls,
+      @Value("${db.replica.pin-window:5000}") long windowMillis) {
+    this.transactionManager = transactionManager;
+    this.windowMillis = windowMillis;
+    this.replicas = !replicaUrls.isBlank();
+    this.pinned =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_PINNED)
+            .expireAfterWrite(Duration.ofMillis(windowMillis))
+            .build();
+    revocationEventBus.subscribe(this::apply);
+  }
+
+  /*
+   * Pin a user's rows (profile, watermark, tokens) to the primary.
+   * @param username The username that was written
+   *
+   */
+  public void pinUser(String username) {
+    TokenCache.runNowAndAfterCommit(() -> pinned.put(userKey(username), Boolean.TRUE));
+  }
+
+  /*
+   * Pin a single token to the primary.
+   * @param tokenKey Digest key of the token that was written
+   *
+   */
+  public void pinToken(String tokenKey) {
+    TokenCache.runNowAndAfterCommit(() -> pinned.put(tokenKey(tokenKey), Boolean.TRUE));
+  }
+
+  /*
+   * Whether read-only transactions may be served by a replica.
+   * @return true if db.replica.urls is set
+   *
+   */
+  public boolean hasReplicas() {
+    return replicas;
+  }
+
+  public boolean isUserPinned(String username) {
+    return isAllPinned() || pinned.getIfPresent(userKey(username)) != null;
+  }
+
+  public boolean isTokenPinned(String tokenKey) {
+    return isAllPinned() || pinned.getIfPresent(tokenKey(tokenKey)) != null;
+  }
+
+  /*
+   * Run a read of a user's rows: on the primary if the user is pinned, otherwise
+   * on a replica, repeating it on the primary when the result would reject the
+   * caller.
+   * @param username The user whose rows are read
+   * @param read The read to run
+   * @param rejects Whether a result would reject the caller
+   * @return The result of the read
+   *
+   */
+  public <T> T readForUser(String username, Supplier<T> read, Predicate<T> rejects) {
+    if (!replicas) {
+      return read.get();
+    }
+    if (isUserPinned(username)) {
+      return onPrimary(read);
+    }
+    T result = read.get();
+    return rejects.test(result) ? onPrimary(read) : result;
+  }
+
+  /*
+   * Run a read with every new connection taken from the primary.
+   * Inside a read-only transaction, whose connection may come from a replica,
+   * the read runs in a new read-only transaction so it gets its own connection;
+   * a read-write transaction already reads from the primary.
+   * @param read The read to run
+   * @return The result of the read
+   *
+   */
+  public <T> T onPrimary(Supplier<T> read) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return inOwnTransaction(() -> onPrimaryConnection(read));
+    }
+    return onPrimaryConnection(read);
+  }
+
+  private <T> T onPrimaryConnection(Supplier<T> read) {
+    Boolean previous = primaryRequired.get();
+    primaryRequired.set(Boolean.TRUE);
+    try {
+      return read.get();
+    } finally {
+      if (previous == null) {
+        primaryRequired.remove();
+      } else {
+        primaryRequired.set(previous);
+      }
+    }
+  }
+
+  /*
+   * Whether the current thread must read from the primary.
+   * @return true inside onPrimary
+   *
+   */
+  public boolean isPrimaryRequired() {
+    return Boolean.TRUE.equals(primaryRequired.get());
+  }
+
+  private <T> T inOwnTransaction(Supplier<T> read) {
+    TransactionTemplate template = ownTransaction;
+    if (template == null) {
+      template = new TransactionTemplate(transactionManager.getObject());
+      template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+      template.setReadOnly(true);
+      ownTransaction = template;
+    }
+    return template.execute(status -> read.get());
+  }
+
+  private boolean isAllPinned() {
+    return System.currentTimeMillis() < allPinnedUntil;
+  }
+
+  private void apply(RevocationEvent event) {
+    switch (event.type()) {
+      case TOKEN -> pinned.put(tokenKey(event.subject()), Boolean.TRUE);
+      case USER, USER_DETAILS -> pinned.put(userKey(event.subject()), Boolean.TRUE);
+      case ALL -> allPinnedUntil = System.currentTimeMillis() + windowMillis;
+    }
+  }
+
+  private static String userKey(String username) {
+    return "user:" + username;
+  }
+
+  private static String tokenKey(String tokenKey) {
+    return "token:" + tokenKey;
+  }
+}
@@ -0,0 +1,83 @@
+package com.api.main.services;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/*
+ * Revocation notice exchanged between application instances.
+ * TOKEN revokes a single token identified by its digest key (never the raw value),
+ * USER revokes every token of a username issued at or before the publisher's
+ * watermark instant (carried in the event, so receivers do not substitute their
+ * own clock or arrival time),
+ * USER_DETAILS tells caches that a user's row (hash, role, enabled) changed,
+ * and ALL tells listeners to drop everything because events may have been missed.
+ * Encoded as "<type>:<subject>", or "<type>@<epoch micros>:<subject>" when the event
+ * carries an instant (always for USER), for transports that carry plain strings.
+ */
+public record RevocationEvent(Type type, String subject, Instant before) {
+
+  public enum Type {
+    TOKEN,
+    USER,
+    USER_DETAILS,
+    ALL
+  }
+
+  public RevocationEvent {
+    if (type == Type.USER && before == null) {
+      throw new IllegalArgumentException("USER revocation event without an instant: " + subject);
+    }
+  }
+
+  public static RevocationEvent token(String tokenKey) {
+    return new RevocationEvent(Type.TOKEN, tokenKey, null);
+  }
+
+  public static RevocationEvent user(String username, Instant before) {
+    return new RevocationEvent(Type.USER, username, before);
+  }
+
+  public static RevocationEvent userDetails(String username) {
+    return new RevocationEvent(Type.USER_DETAILS, username, null);
+  }
+
+  public static RevocationEvent all() {
+    return new RevocationEvent(Type.ALL, "", null);
+  }
+
+  /*
+   * Encode the event for a string transport.
+   * @return "<type>:<subject>" or "<type>@<epoch micros>:<subject>"
+   *
+   */
+  public String encode() {
+    if (before == null) {
+      return type.name() + ":" + subject;
+    }
+    return type.name() + "@" + ChronoUnit.MICROS.between(Instant.EPOCH, before) + ":" + subject;
+  }
+
+  /*
+   * Decode an event produced by encode().
+   * @param payload The encoded event
+   * @return The decoded RevocationEvent
+   * @throws IllegalArgumentException if the payload is malformed or a USER event
+   *         has no instant
+   *
+   */
+  public static RevocationEvent decode(String payload) {
+    int separator = payload.indexOf(':');
+    if (separator < 0) {
+      throw new IllegalArgumentException("Malformed revocation event: " + payload);
+    }
+    String head = payload.substring(0, separator);
+    String subject = payload.substring(separator + 1);
+    int at = head.indexOf('@');
+    if (at < 0) {
+      return new RevocationEvent(Type.valueOf(head), subject, null);
+    }
+    Instant before =
+        Instant.EPOCH.plus(Long.parseLong(head.substring(at + 1)), ChronoUnit.MICROS);
+    return new RevocationEvent(Type.valueOf(head.substring(0, at)), subject, before);
+  }
+}
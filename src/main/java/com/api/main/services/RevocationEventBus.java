@@ -0,0 +1,28 @@
+package com.api.main.services;
+
+import java.util.function.Consumer;
+
+/*
+ * Transport for broadcasting token revocations to every application instance.
+ * Publishing inside a transaction must only deliver the event once it commits,
+ * so other instances never drop cache entries before the revocation is visible.
+ * Every instance, including the publisher, receives its own events;
+ * listeners must therefore be idempotent.
+ * Selected with token.revocation.bus (memory or postgres).
+ */
+public interface RevocationEventBus {
+
+  /*
+   * Broadcast a revocation to all instances.
+   * @param event The revocation to broadcast
+   *
+   */
+  void publish(RevocationEvent event);
+
+  /*
+   * Register a listener invoked for every received revocation.
+   * @param listener Callback applied on the receiving instance
+   *
+   */
+  void subscribe(Consumer<RevocationEvent> listener);
+}
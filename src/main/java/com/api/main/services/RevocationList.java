@@ -0,0 +1,140 @@
+package com.api.main.services;
+
+import com.api.main.entity.Token;
+import com.api.main.repositories.TokenRepository;
+import com.api.main.repositories.UserRepository;
+import com.api.main.security.SignedTokenCodec;
+import com.api.main.security.TokenHasher;
+import com.api.main.security.TokenWatermark;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Compact in-memory revocation list used by the signed-token fast path.
+ * Tracks revoked token keys and, per user, the instant before which all tokens
+ * were revoked. Entries are only kept until the longest-lived token they could
+ * affect has expired, so the list stays proportional to recent logouts.
+ * Loaded from the tokens table and the users' token watermarks at startup and
+ * kept current through the RevocationEventBus; a USER event applies the watermark
+ * instant chosen by the publishing instance, and an ALL event triggers a full reload.
+ * Only populated when signed tokens are enabled.
+ */
+@Component
+public class RevocationList {
+
+  private final TokenRepository tokenRepository;
+  private final UserRepository userRepository;
+  private final RevocationEventBus revocationEventBus;
+  private final boolean enabled;
+  private final ConcurrentHashMap<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+  @Value("${token.expiration:86400000}")
+  private long tokenExpiration;
+
+  public RevocationList(
+      TokenRepository tokenRepository,
+      UserRepository userRepository,
+      SignedTokenCodec signedTokenCodec,
+      RevocationEventBus revocationEventBus) {
+    this.tokenRepository = tokenRepository;
+    this.userRepository = userRepository;
+    this.revocationEventBus = revocationEventBus;
+    this.enabled = signedTokenCodec.isEnabled();
+  }
+
+  /*
+   * Subscribe once constructed, so no event reaches a partially initialized list,
+   * then fill it; events arriving meanwhile are merged with what is loaded.
+   */
+  @PostConstruct
+  public void start() {
+    if (enabled) {
+      revocationEventBus.subscribe(this::apply);
+      fill();
+    }
+  }
+
+  /* Rebuild the list from the tokens table and the users' watermarks */
+  public void load() {
+    revokedTokens.clear();
+    revokedBefore.clear();
+    fill();
+  }
+
+  /*
+   * Check whether a token has been revoked, individually or with all of its user's tokens.
+   * @param tokenKey The token key from TokenHasher.key
+   * @param username The token's subject
+   * @param issuedAt The token's issue time
+   * @return true if the token must be rejected
+   *
+   */
+  public boolean isRevoked(String tokenKey, String username, Instant issuedAt) {
+    if (revokedTokens.containsKey(tokenKey)) {
+      return true;
+    }
+    Instant before = revokedBefore.get(username);
+    return before != null && !issuedAt.isAfter(before);
+  }
+
+  /*
+   * Revoke a single token on this instance.
+   * @param tokenKey The token key from TokenHasher.key
+   *
+   */
+  public void revokeToken(String tokenKey) {
+    if (enabled) {
+      revokedTokens.put(tokenKey, retentionEnd());
+    }
+  }
+
+  /*
+   * Revoke every token issued to a user up to an instant on this instance.
+   * @param username The username whose tokens are revoked
+   * @param before Tokens issued at or before this instant are revoked
+   *
+   */
+  public void revokeUser(String username, Instant before) {
+    if (enabled) {
+      revokedBefore.merge(username, before, (a, b) -> a.isAfter(b) ? a : b);
+    }
+  }
+
+  /* Drop entries that can no longer match an unexpired token */
+  @Scheduled(fixedDelayString = "${token.revocation-list.prune-interval:60000}")
+  public void prune() {
+    Instant now = Instant.now();
+    revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    Instant oldestLiveIssue = now.minus(tokenExpiration, ChronoUnit.MILLIS);
+    revokedBefore.values().removeIf(before -> before.isBefore(oldestLiveIssue));
+  }
+
+  private void fill() {
+    Instant now = Instant.now();
+    for (Token token : tokenRepository.findByRevokedTrueAndExpiresAtAfter(now)) {
+      revokedTokens.put(TokenHasher.key(token.getTokenHash()), token.getExpiresAt());
+    }
+    Instant oldestLiveIssue = now.minus(tokenExpiration, ChronoUnit.MILLIS);
+    for (TokenWatermark watermark : userRepository.findTokenWatermarksSince(oldestLiveIssue)) {
+      revokeUser(watermark.username(), watermark.tokensValidAfter());
+    }
+  }
+
+  private Instant retentionEnd() {
+    return Instant.now().plus(tokenExpiration, ChronoUnit.MILLIS);
+  }
+
+  private void apply(RevocationEvent event) {
+    switch (event.type()) {
+      case TOKEN -> revokeToken(event.subject());
+      case USER -> revokeUser(event.subject(), event.before());
+      case ALL -> load();
+    }
+  }
+}
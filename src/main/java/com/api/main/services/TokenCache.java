@@ -0,0 +1,224 @@
+package com.api.main.services;
+
+import com.api.main.security.TokenPrincipal;
+import com.api.main.security.TokenWatermark;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Bounded, revocation-aware cache in front of TokenRepository.
+ * Holds two views keyed for the two hot reads:
+ * - token key (Base64url SHA-256 digest) -> active TokenPrincipal, expiring at the configured TTL
+ *   or at the token's own expiresAt, whichever comes first
+ * - username -> TokenWatermark used by isTokenRevokedForUser
+ * Only positive token lookups are cached so unknown tokens cannot fill the cache.
+ * Revocations invalidate immediately and again after the surrounding transaction
+ * commits. Each invalidation stamps its token or username in KeyVersions
+ * (a fixed array of striped sequence numbers, so memory stays bounded); a load that
+ * started before a stamp on its own token or user drops the entry it just cached,
+ * while invalidations of other users, such as the watermark reset on every login,
+ * leave it alone.
+ * Hit, miss and eviction counts are published through Micrometer.
+ */
+@Component
+public class TokenCache {
+
+  private final Cache<String, TokenPrincipal> tokens;
+  private final Cache<String, TokenWatermark> revocationState;
+  private final ConcurrentHashMap<String, Set<String>> tokensByUsername =
+      new ConcurrentHashMap<>();
+  private final KeyVersions versions = new KeyVersions();
+
+  public TokenCache(
+      MeterRegistry meterRegistry,
+      @Value("${token.cache.max-size:100000}") long maxSize,
+      @Value("${token.cache.ttl:300000}") long ttlMillis) {
+    Duration ttl = Duration.ofMillis(ttlMillis);
+    this.tokens =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new PrincipalExpiry(ttl))
+            .removalListener(
+                (String token, TokenPrincipal principal, RemovalCause cause) -> {
+                  if (token != null && principal != null && cause != RemovalCause.REPLACED) {
+                    unindex(principal.username(), token);
+                  }
+                })
+            .recordStats()
+            .build();
+    this.revocationState =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, tokens, "tokens");
+    CaffeineCacheMetrics.monitor(meterRegistry, revocationState, "token-revocation-state");
+  }
+
+  /*
+   * Return the cached principal for a token, loading it on a miss.
+   * Empty results are not cached.
+   * @param token The token key from TokenHasher.key
+   * @param loader Database lookup used on a miss
+   * @return Optional containing the TokenPrincipal if the token is active, else empty
+   *
+   */
+  public Optional<TokenPrincipal> getPrincipal(
+      String token, Supplier<Optional<TokenPrincipal>> loader) {
+    TokenPrincipal cached = tokens.getIfPresent(token);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    long start = versions.current();
+    Optional<TokenPrincipal> loaded = loader.get();
+    loaded.ifPresent(
+        principal -> {
+          tokensByUsername
+              .computeIfAbsent(principal.username(), key -> ConcurrentHashMap.newKeySet())
+              .add(token);
+          tokens.put(token, principal);
+          // Checked after the put: a revocation stamped later also invalidates it
+          if (versions.changedSince(token, start)
+              || versions.changedSince(principal.username(), start)) {
+            tokens.asMap().remove(token, principal);
+          }
+        });
+    return loaded;
+  }
+
+  /*
+   * Return the cached token watermark of a user, loading it on a miss.
+   * @param username The username to check
+   * @param loader Database lookup used on a miss
+   * @return The user's TokenWatermark
+   *
+   */
+  public TokenWatermark getWatermark(String username, Supplier<TokenWatermark> loader) {
+    TokenWatermark cached = revocationState.getIfPresent(username);
+    if (cached != null) {
+      return cached;
+    }
+    long start = versions.current();
+    TokenWatermark watermark = loader.get();
+    revocationState.put(username, watermark);
+    if (versions.changedSince(username, start)) {
+      revocationState.asMap().remove(username, watermark);
+    }
+    return watermark;
+  }
+
+  /*
+   * Drop a single token, now and once the current transaction commits.
+   * @param token The token key from TokenHasher.key
+   *
+   */
+  public void invalidateToken(String token) {
+    runNowAndAfterCommit(
+        () -> {
+          versions.stamp(token);
+          tokens.invalidate(token);
+        });
+  }
+
+  /*
+   * Drop every cached token and the watermark of a user,
+   * now and once the current transaction commits.
+   * @param username The username whose entries are dropped
+   *
+   */
+  public void invalidateUser(String username) {
+    runNowAndAfterCommit(
+        () -> {
+          versions.stamp(username);
+          revocationState.invalidate(username);
+          Set<String> userTokens = tokensByUsername.remove(username);
+          if (userTokens != null) {
+            tokens.invalidateAll(userTokens);
+          }
+        });
+  }
+
+  /*
+   * Drop the watermark of a user without touching its tokens.
+   * Used when a new token is issued and the user's latest token changes.
+   * @param username The username whose watermark is dropped
+   *
+   */
+  public void invalidateRevocationState(String username) {
+    runNowAndAfterCommit(
+        () -> {
+          versions.stamp(username);
+          revocationState.invalidate(username);
+        });
+  }
+
+  /*
+   * Drop every cached entry, e.g. after revocation events may have been missed.
+   *
+   */
+  public void invalidateAll() {
+    versions.stampAll();
+    revocationState.invalidateAll();
+    tokens.invalidateAll();
+    tokensByUsername.clear();
+  }
+
+  private void unindex(String username, String token) {
+    tokensByUsername.computeIfPresent(
+        username,
+        (key, userTokens) -> {
+          userTokens.remove(token);
+          return userTokens.isEmpty() ? null : userTokens;
+        });
+  }
+
+  static void runNowAndAfterCommit(Runnable action) {
+    action.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    }
+  }
+
+  /* Expires entries at the configured TTL or at the token's own expiry, whichever is first */
+  private record PrincipalExpiry(Duration ttl) implements Expiry<String, TokenPrincipal> {
+
+    @Override
+    public long expireAfterCreate(String token, TokenPrincipal principal, long currentTime) {
+      Duration untilExpiry = Duration.between(Instant.now(), principal.expiresAt());
+      if (untilExpiry.isNegative()) {
+        return 0;
+      }
+      return Math.min(ttl.toNanos(), untilExpiry.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String token, TokenPrincipal principal, long currentTime, long currentDuration) {
+      return expireAfterCreate(token, principal, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String token, TokenPrincipal principal, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
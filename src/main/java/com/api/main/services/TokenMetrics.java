@@ -0,0 +1,50 @@
+package com.api.main.services;
+
+import com.api.main.repositories.TokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Gauges for the size of the tokens table and the number of active sessions
+ * (tokens neither revoked nor expired).
+ * Both need a COUNT over the table, so they are refreshed on a schedule
+ * (metrics.tokens.refresh-interval) instead of on every scrape; the gauges
+ * report the last refreshed values, or -1 until the first refresh succeeds.
+ */
+@Component
+public class TokenMetrics {
+
+  private static final Logger log = LoggerFactory.getLogger(TokenMetrics.class);
+
+  private final TokenRepository tokenRepository;
+  private final AtomicLong storedTokens = new AtomicLong(-1);
+  private final AtomicLong activeTokens = new AtomicLong(-1);
+
+  public TokenMetrics(TokenRepository tokenRepository, MeterRegistry meterRegistry) {
+    this.tokenRepository = tokenRepository;
+    Gauge.builder("tokens.stored", storedTokens, AtomicLong::get)
+        .description("Rows in the tokens table, including revoked and expired tokens")
+        .register(meterRegistry);
+    Gauge.builder("tokens.active", activeTokens, AtomicLong::get)
+        .description("Active sessions: tokens that are neither revoked nor expired")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${metrics.tokens.refresh-interval:60000}",
+      initialDelayString = "${metrics.tokens.initial-delay:0}")
+  public void refresh() {
+    try {
+      storedTokens.set(tokenRepository.count());
+      activeTokens.set(tokenRepository.countActiveTokens(Instant.now()));
+    } catch (RuntimeException e) {
+      log.warn("Could not refresh token gauges: {}", e.getMessage());
+    }
+  }
+}
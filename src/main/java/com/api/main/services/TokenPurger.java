@@ -0,0 +1,138 @@
+package com.api.main.services;
+
+import com.api.main.repositories.TokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Background job that removes expired tokens in bounded batches.
+ * Each batch looks up the next batch-size expired ids and deletes that id range
+ * in its own short transaction, so no single statement locks a large part of
+ * the tokens table. Batches are separated by a configurable pause to leave
+ * room for foreground traffic.
+ * Only the instance holding the "token-purge" lease runs a purge; the run stops
+ * early if it would outlive the lease.
+ * Rows removed and run time are logged and exported through Micrometer.
+ */
+@Component
+@ConditionalOnProperty(name = "token.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenPurger {
+
+  private static final Logger log = LoggerFactory.getLogger(TokenPurger.class);
+
+  private static final String JOB_NAME = "token-purge";
+
+  private final TokenRepository tokenRepository;
+  private final JobLockService jobLockService;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter purgedTokens;
+  private final Timer purgeRuns;
+
+  @Value("${token.purge.batch-size:1000}")
+  private int batchSize;
+
+  @Value("${token.purge.batch-pause:100}")
+  private long batchPauseMillis;
+
+  @Value("${token.purge.lock-duration:600000}")
+  private long lockDurationMillis;
+
+  public TokenPurger(
+      TokenRepository tokenRepository,
+      JobLockService jobLockService,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.tokenRepository = tokenRepository;
+    this.jobLockService = jobLockService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.purgedTokens =
+        Counter.builder("tokens.purged")
+            .description("Expired tokens removed by the purge job")
+            .register(meterRegistry);
+    this.purgeRuns =
+        Timer.builder("tokens.purge")
+            .description("Duration of expired-token purge runs")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${token.purge.interval:3600000}",
+      initialDelayString = "${token.purge.initial-delay:60000}")
+  public void purgeExpiredTokens() {
+    Duration lease = Duration.ofMillis(lockDurationMillis);
+    if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+      return;
+    }
+    try {
+      purge(Instant.now().plus(lease));
+    } finally {
+      jobLockService.release(JOB_NAME);
+    }
+  }
+
+  /*
+   * Delete expired tokens batch by batch until none are left or the lease runs out.
+   * @param leaseEnd Time after which this instance may no longer hold the lease
+   * @return Number of tokens deleted
+   *
+   */
+  int purge(Instant leaseEnd) {
+    long started = System.nanoTime();
+    Instant cutoff = Instant.now();
+    int removed = 0;
+    int batches = 0;
+
+    while (Instant.now().isBefore(leaseEnd)) {
+      List<Long> ids = tokenRepository.findExpiredTokenIds(cutoff, Limit.of(batchSize));
+      if (ids.isEmpty()) {
+        break;
+      }
+      Integer deleted =
+          transactionTemplate.execute(
+              status ->
+                  tokenRepository.deleteExpiredTokensInRange(
+                      ids.get(0), ids.get(ids.size() - 1), cutoff));
+      removed += deleted != null ? deleted : 0;
+      batches++;
+      if (ids.size() < batchSize || !pause()) {
+        break;
+      }
+    }
+
+    long elapsed = System.nanoTime() - started;
+    purgeRuns.record(elapsed, TimeUnit.NANOSECONDS);
+    purgedTokens.increment(removed);
+    if (removed > 0) {
+      log.info(
+          "Purged {} expired tokens in {} batches ({} ms)",
+          removed,
+          batches,
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+    return removed;
+  }
+
+  private boolean pause() {
+    try {
+      Thread.sleep(batchPauseMillis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package com.api.main.services;
+
+import com.api.main.repositories.TokenRepository;
+import com.api.main.repositories.UserRepository;
+import com.api.main.security.SignedTokenCodec;
+import com.api.main.security.TokenHasher;
+import com.api.main.security.TokenPrincipal;
+import com.api.main.security.TokenWatermark;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+
+/*
+ * Service for resolving presented tokens on the request path.
+ * Kept separate from AuthService so the security filter chain can depend on it
+ * without pulling in the AuthenticationManager it configures.
+ * Resolution is a single indexed lookup on the token digest; no password hashing
+ * is involved.
+ * Lookups go through TokenCache, and every revocation must invalidate it here.
+ * Revoking all tokens of a user moves the user's TokenWatermark forward with a
+ * single row update; tokens created at or before it no longer resolve.
+ * Signed tokens (token.format=signed) are verified locally and checked against
+ * the in-memory RevocationList, so the common case never reads the tokens table.
+ * Revocations are also broadcast on the RevocationEventBus so that other
+ * instances drop their cached entries once the revocation commits.
+ * Database reads may be served by a read replica; every write pins the affected
+ * user or token to the primary through ReplicaPinning so it reads its own writes.
+ */
+@Service
+public class TokenService {
+
+  private final TokenRepository tokenRepository;
+  private final UserRepository userRepository;
+  private final TokenCache tokenCache;
+  private final RevocationEventBus revocationEventBus;
+  private final SignedTokenCodec signedTokenCodec;
+  private final RevocationList revocationList;
+  private final ReplicaPinning replicaPinning;
+
+  public TokenService(
+      TokenRepository tokenRepository,
+      UserRepository userRepository,
+      TokenCache tokenCache,
+      RevocationEventBus revocationEventBus,
+      SignedTokenCodec signedTokenCodec,
+      RevocationList revocationList,
+      ReplicaPinning replicaPinning) {
+    this.tokenRepository = tokenRepository;
+    this.userRepository = userRepository;
+    this.tokenCache = tokenCache;
+    this.revocationEventBus = revocationEventBus;
+    this.signedTokenCodec = signedTokenCodec;
+    this.revocationList = revocationList;
+    this.replicaPinning = replicaPinning;
+    revocationEventBus.subscribe(this::apply);
+  }
+
+  /*
+   * Resolve a raw token value to the principal it was issued for.
+   * @param token The token string presented by the client
+   * @return Optional containing the TokenPrincipal if the token is active, else empty
+   *
+   */
+  public Optional<TokenPrincipal> resolve(String token) {
+    if (token == null || token.isBlank()) {
+      return Optional.empty();
+    }
+    if (signedTokenCodec.isEnabled() && signedTokenCodec.isSignedToken(token)) {
+      return resolveSigned(token);
+    }
+    byte[] tokenHash = TokenHasher.hash(token);
+    String key = TokenHasher.key(tokenHash);
+    return tokenCache.getPrincipal(key, () -> findActivePrincipal(key, tokenHash));
+  }
+
+  /*
+   * Look up an active token, reading its own writes.
+   * A token missing on a replica may have been issued after the replica's last
+   * update, and a token found there may belong to an owner whose tokens were just
+   * revoked, so both cases are looked up again on the primary.
+   * @param key Digest key of the token
+   * @param tokenHash Digest of the token
+   * @return Optional containing the TokenPrincipal if the token is active, else empty
+   *
+   */
+  private Optional<TokenPrincipal> findActivePrincipal(String key, byte[] tokenHash) {
+    Supplier<Optional<TokenPrincipal>> lookup =
+        () -> tokenRepository.findActivePrincipalByToken(tokenHash, Instant.now());
+    if (!replicaPinning.hasReplicas()) {
+      return lookup.get();
+    }
+    if (replicaPinning.isTokenPinned(key)) {
+      return replicaPinning.onPrimary(lookup);
+    }
+    Optional<TokenPrincipal> principal = lookup.get();
+    if (principal.isEmpty() || replicaPinning.isUserPinned(principal.get().username())) {
+      return replicaPinning.onPrimary(lookup);
+    }
+    return principal;
+  }
+
+  /*
+   * Resolve a signed token without touching the database.
+   * The signature and expiry are checked locally and revocation is looked up
+   * in the in-memory RevocationList.
+   * @param token The signed token presented by the client
+   * @return Optional containing the TokenPrincipal if the token is valid, else empty
+   *
+   */
+  private Optional<TokenPrincipal> resolveSigned(String token) {
+    return signedTokenCodec
+        .verify(token, Instant.now())
+        .filter(
+            claims ->
+                !revocationList.isRevoked(
+                    TokenHasher.key(TokenHasher.hash(token)), claims.username(), claims.issuedAt()))
+        .map(claims -> new TokenPrincipal(claims.username(), claims.role(), claims.expiresAt()));
+  }
+
+  /*
+   * Check whether the most recent token of a user has been revoked.
+   * Users without any token are treated as revoked.
+   * @param username The username to check
+   * @return true if the user's latest token is revoked or missing
+   *
+   */
+  public boolean isRevokedForUser(String username) {
+    return tokenCache
+        .getWatermark(
+            username,
+            () ->
+                replicaPinning.readForUser(
+                    username,
+                    () ->
+                        userRepository
+                            .findTokenWatermark(username)
+                            .orElseGet(() -> TokenWatermark.none(username)),
+                    TokenWatermark::isLatestRevoked))
+        .isLatestRevoked();
+  }
+
+  /*
+   * Record that a new token was issued and reload the user's watermark.
+   * @param username The username the token was issued to
+   * @param issuedAt Creation time stored on the token
+   *
+   */
+  public void tokenIssued(String username, Instant issuedAt) {
+    userRepository.recordTokenIssued(username, issuedAt);
+    replicaPinning.pinUser(username);
+    tokenCache.invalidateRevocationState(username);
+  }
+
+  /*
+   * Revoke a single token and drop it from the cache.
+   * @param token The raw token value
+   *
+   */
+  public void revoke(String token) {
+    byte[] tokenHash = TokenHasher.hash(token);
+    String key = TokenHasher.key(tokenHash);
+    replicaPinning.pinToken(key);
+    tokenRepository
+        .findByTokenHash(tokenHash)
+        .ifPresent(
+            t -> {
+              t.setRevoked(true);
+              tokenRepository.save(t);
+              userRepository.clearLatestToken(t.getUsername(), t.getCreatedAt());
+              replicaPinning.pinUser(t.getUsername());
+              tokenCache.invalidateRevocationState(t.getUsername());
+            });
+    tokenCache.invalidateToken(key);
+    revocationList.revokeToken(key);
+    revocationEventBus.publish(RevocationEvent.token(key));
+  }
+
+  /*
+   * Revoke every token of a user issued up to now and drop them from the cache.
+   * Only the user's watermark is written, however many tokens the user holds.
+   * @param username The username whose tokens are revoked
+   *
+   */
+  public void revokeAllForUser(String username) {
+    Instant before = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    userRepository.revokeTokensBefore(username, before);
+    replicaPinning.pinUser(username);
+    tokenCache.invalidateUser(username);
+    revocationList.revokeUser(username, before);
+    revocationEventBus.publish(RevocationEvent.user(username, before));
+  }
+
+  /*
+   * Apply a revocation received from any instance to the local cache.
+   * @param event The received revocation
+   *
+   */
+  private void apply(RevocationEvent event) {
+    switch (event.type()) {
+      case TOKEN -> tokenCache.invalidateToken(event.subject());
+      case USER -> tokenCache.invalidateUser(event.subject());
+      case ALL -> tokenCache.invalidateAll();
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.api.main.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Bounded cache of UserSnapshot keyed by username.
+ * Serves CustomUserDetailsService and AuthService so an authenticated request
+ * does not read the users table again for the hash, role and enabled flag.
+ * Only existing users are cached so unknown usernames cannot fill the cache.
+ * Every write to a user (registration, rehash, disabling an account) must call
+ * evict, directly or through UserDetailsEvictionListener for JPA updates; evict
+ * invalidates locally now and after commit, and broadcasts a USER_DETAILS event
+ * so other instances drop their copy as well. Like TokenCache, each invalidation
+ * stamps the username in KeyVersions and a load re-checks its own key after the
+ * put, so a read that started before the write cannot leave a stale snapshot
+ * cached, while writes to other users do not disturb it.
+ * evict also pins the user to the primary (ReplicaPinning) so the next load does
+ * not read the old row from a lagging replica.
+ * Hit, miss and eviction counts are published through Micrometer.
+ */
+@Component
+public class UserDetailsCache {
+
+  private final Cache<String, UserSnapshot> users;
+  private final KeyVersions versions = new KeyVersions();
+  private final RevocationEventBus revocationEventBus;
+  private final ReplicaPinning replicaPinning;
+
+  public UserDetailsCache(
+      MeterRegistry meterRegistry,
+      RevocationEventBus revocationEventBus,
+      ReplicaPinning replicaPinning,
+      @Value("${user.cache.max-size:10000}") long maxSize,
+      @Value("${user.cache.ttl:300000}") long ttlMillis) {
+    this.revocationEventBus = revocationEventBus;
+    this.replicaPinning = replicaPinning;
+    this.users =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMillis))
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, users, "user-details");
+    revocationEventBus.subscribe(this::apply);
+  }
+
+  /*
+   * Return the cached snapshot of a user, loading it on a miss.
+   * Empty results are not cached.
+   * @param username The username to look up
+   * @param loader Database lookup used on a miss
+   * @return Optional containing the UserSnapshot if the user exists, else empty
+   *
+   */
+  public Optional<UserSnapshot> get(String username, Supplier<Optional<UserSnapshot>> loader) {
+    UserSnapshot cached = users.getIfPresent(username);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    long start = versions.current();
+    Optional<UserSnapshot> loaded = loader.get();
+    loaded.ifPresent(
+        snapshot -> {
+          users.put(username, snapshot);
+          // Checked after the put: an eviction stamped later also invalidates it
+          if (versions.changedSince(username, start)) {
+            users.asMap().remove(username, snapshot);
+          }
+        });
+    return loaded;
+  }
+
+  /*
+   * Return the cached snapshot of a user without loading it.
+   * @param username The username to look up
+   * @return Optional containing the cached UserSnapshot, else empty
+   *
+   */
+  public Optional<UserSnapshot> getIfPresent(String username) {
+    return Optional.ofNullable(users.getIfPresent(username));
+  }
+
+  /*
+   * Drop a user on every instance after its row changed.
+   * @param username The username whose snapshot is dropped
+   *
+   */
+  public void evict(String username) {
+    replicaPinning.pinUser(username);
+    invalidate(username);
+    revocationEventBus.publish(RevocationEvent.userDetails(username));
+  }
+
+  private void invalidate(String username) {
+    TokenCache.runNowAndAfterCommit(
+        () -> {
+          versions.stamp(username);
+          users.invalidate(username);
+        });
+  }
+
+  private void apply(RevocationEvent event) {
+    switch (event.type()) {
+      case USER, USER_DETAILS -> invalidate(event.subject());
+      case ALL -> {
+        versions.stampAll();
+        users.invalidateAll();
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.api.main.services;
+
+import com.api.main.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/*
+ * JPA entity listener that evicts a user's cached details whenever the entity
+ * is updated or deleted through JPA, e.g. when an account is disabled with
+ * setEnabled(false) and saved. Bulk JPQL and JDBC writes bypass entity
+ * listeners and call UserDetailsCache.evict themselves.
+ * Created by Hibernate through Spring's bean container; the cache is looked up
+ * lazily because the listener is built together with the EntityManagerFactory.
+ */
+public class UserDetailsEvictionListener {
+
+  private final ObjectProvider<UserDetailsCache> userDetailsCache;
+
+  public UserDetailsEvictionListener(ObjectProvider<UserDetailsCache> userDetailsCache) {
+    this.userDetailsCache = userDetailsCache;
+  }
+
+  @PostUpdate
+  @PostRemove
+  void userChanged(User user) {
+    userDetailsCache.ifAvailable(cache -> cache.evict(user.getUsername()));
+  }
+}
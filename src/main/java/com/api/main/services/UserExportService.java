@@ -0,0 +1,132 @@
+package com.api.main.services;
+
+import com.api.main.dto.UserSummary;
+import com.api.main.exceptions.OperationRejectedException;
+import com.api.main.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/*
+ * Service for streaming the user list as NDJSON or CSV.
+ * Users are read in id order one page at a time with keyset pagination and each
+ * page is written and flushed before the next is read, so memory use depends on
+ * the page size only, never on the number of users.
+ * Only the UserResponse fields are read and written.
+ * CSV cells that a spreadsheet would evaluate as a formula are prefixed with a
+ * single quote so exported data cannot inject formulas.
+ */
+@Service
+public class UserExportService {
+
+  public enum Format {
+    NDJSON,
+    CSV
+  }
+
+  private static final String CSV_HEADER = "id,username,email,roles\r\n";
+  private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+  private final UserRepository userRepository;
+  private final TokenService tokenService;
+  private final ObjectMapper objectMapper;
+
+  @Value("${users.export.page-size:1000}")
+  private int pageSize;
+
+  public UserExportService(
+      UserRepository userRepository, TokenService tokenService, ObjectMapper objectMapper) {
+    this.userRepository = userRepository;
+    this.tokenService = tokenService;
+    this.objectMapper = objectMapper;
+  }
+
+  /*
+   * Check that the requesting admin may start an export.
+   * Called on the request thread, before the response is committed.
+   * @param requestedBy The admin requesting the export
+   * @throws OperationRejectedException if the admin's token is revoked
+   *
+   */
+  public void checkAllowed(String requestedBy) {
+    if (tokenService.isRevokedForUser(requestedBy)) {
+      throw new OperationRejectedException("Token is revoked");
+    }
+  }
+
+  /*
+   * Write every user with an id greater than afterId to the stream.
+   * @param out The response stream; it is flushed after every page but not closed
+   * @param format Output format
+   * @param afterId Id to resume after (0 for a full export)
+   * @throws IOException if writing fails, e.g. because the client disconnected
+   *
+   */
+  public void export(OutputStream out, Format format, long afterId) throws IOException {
+    Writer csv = null;
+    if (format == Format.CSV) {
+      csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      csv.write(CSV_HEADER);
+    }
+
+    long cursor = afterId;
+    while (true) {
+      List<UserSummary> page = userRepository.findPageAfter(cursor, Limit.of(pageSize));
+      for (UserSummary user : page) {
+        if (csv != null) {
+          writeCsvRow(csv, user);
+        } else {
+          out.write(objectMapper.writeValueAsBytes(user.toResponse()));
+          out.write('\n');
+        }
+      }
+      if (csv != null) {
+        csv.flush();
+      }
+      out.flush();
+      if (page.size() < pageSize) {
+        return;
+      }
+      cursor = page.get(page.size() - 1).id();
+    }
+  }
+
+  private static void writeCsvRow(Writer writer, UserSummary user) throws IOException {
+    writer.write(String.valueOf(user.id()));
+    writer.write(',');
+    writer.write(csvCell(user.username()));
+    writer.write(',');
+    writer.write(csvCell(user.email()));
+    writer.write(',');
+    writer.write(csvCell(user.role()));
+    writer.write("\r\n");
+  }
+
+  /*
+   * Escape a value as an RFC 4180 cell, neutralising formula prefixes.
+   * @param value The raw value
+   * @return The cell text
+   *
+   */
+  static String csvCell(String value) {
+    if (value == null || value.isEmpty()) {
+      return "";
+    }
+    String cell = FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    if (cell.indexOf(',') >= 0
+        || cell.indexOf('"') >= 0
+        || cell.indexOf('\n') >= 0
+        || cell.indexOf('\r') >= 0) {
+      cell = "\"" + cell.replace("\"", "\"\"") + "\"";
+    }
+    return cell;
+  }
+}
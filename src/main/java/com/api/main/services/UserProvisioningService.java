@@ -0,0 +1,281 @@
+package com.api.main.services;
+
+import com.api.main.constants.Constants;
+import com.api.main.dto.BulkCreateResponse;
+import com.api.main.dto.BulkRowError;
+import com.api.main.dto.CreateUserRequest;
+import com.api.main.dto.UserIdentity;
+import com.api.main.exceptions.BulkProvisioningException;
+import com.api.main.exceptions.OperationRejectedException;
+import com.api.main.repositories.UserRepository;
+import com.api.main.security.OffloadingPasswordEncoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Service for provisioning many users from one NDJSON stream
+ * (one CreateUserRequest per line).
+ * Rows are validated as they are read and processed in batches:
+ * - one query per batch finds usernames and emails that already exist
+ * - passwords are hashed in parallel on the PasswordHashExecutor
+ * - rows are inserted with a single JDBC batch, committed per batch
+ * Any row that fails parsing, validation or a uniqueness check is reported with
+ * its line number and skipped; the rest of the stream is still provisioned.
+ * Only the first users.bulk.max-errors rejected rows are listed, so a stream of
+ * bad rows cannot grow the response without bound; all of them are counted.
+ * If a batch fails (pool timeout, shed hashing) after earlier batches committed,
+ * a BulkProvisioningException reports how many rows and lines were applied.
+ * New users have never been cached, so no UserDetailsCache eviction is needed.
+ */
+@Service
+public class UserProvisioningService {
+
+  private static final String INSERT_USER_SQL =
+      "INSERT INTO users (username, email, password_hash, role, enabled) VALUES (?, ?, ?, ?, ?)";
+
+  private final UserRepository userRepository;
+  private final TokenService tokenService;
+  private final PasswordEncoder passwordEncoder;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+
+  @Value("${users.bulk.batch-size:500}")
+  private int batchSize;
+
+  @Value("${users.bulk.max-errors:100}")
+  private int maxErrors;
+
+  public UserProvisioningService(
+      UserRepository userRepository,
+      TokenService tokenService,
+      PasswordEncoder passwordEncoder,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      Validator validator) {
+    this.userRepository = userRepository;
+    this.tokenService = tokenService;
+    this.passwordEncoder = passwordEncoder;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+  }
+
+  /*
+   * Create every valid user read from an NDJSON stream.
+   * @param reader The request body, one JSON object per line
+   * @param createdBy The admin performing the import
+   * @return Number of created users and the errors of rejected rows
+   * @throws IOException if the stream cannot be read
+   * @throws BulkProvisioningException if a batch fails; carries the progress so far
+   *
+   */
+  public BulkCreateResponse provision(BufferedReader reader, String createdBy)
+      throws IOException {
+    if (tokenService.isRevokedForUser(createdBy)) {
+      throw new OperationRejectedException("Token is revoked");
+    }
+
+    RowErrors errors = new RowErrors(maxErrors);
+    Set<String> seenUsernames = new HashSet<>();
+    Set<String> seenEmails = new HashSet<>();
+    List<Row> batch = new ArrayList<>(batchSize);
+    int created = 0;
+    long processedLines = 0;
+    long lineNumber = 0;
+    String line;
+    try {
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        CreateUserRequest request;
+        try {
+          request = objectMapper.readValue(line, CreateUserRequest.class);
+        } catch (JsonProcessingException e) {
+          errors.add(new BulkRowError(lineNumber, null, "Malformed JSON"));
+          continue;
+        }
+        String violations = validate(request);
+        if (violations != null) {
+          errors.add(new BulkRowError(lineNumber, request.getUsername(), violations));
+          continue;
+        }
+        if (seenUsernames.contains(request.getUsername())) {
+          errors.add(
+              new BulkRowError(
+                  lineNumber, request.getUsername(), "Duplicate username in request"));
+          continue;
+        }
+        if (seenEmails.contains(request.getEmail())) {
+          errors.add(
+              new BulkRowError(lineNumber, request.getUsername(), "Duplicate email in request"));
+          continue;
+        }
+        seenUsernames.add(request.getUsername());
+        seenEmails.add(request.getEmail());
+
+        batch.add(new Row(lineNumber, request));
+        if (batch.size() >= batchSize) {
+          created += flush(batch, errors);
+          batch.clear();
+          processedLines = lineNumber;
+          errors.settle();
+        }
+      }
+      if (!batch.isEmpty()) {
+        created += flush(batch, errors);
+      }
+      processedLines = lineNumber;
+      errors.settle();
+    } catch (RuntimeException e) {
+      throw new BulkProvisioningException(
+          errors.response(Constants.ERROR, created, processedLines), e);
+    }
+    return errors.response(Constants.SUCCESS, created, processedLines);
+  }
+
+  private String validate(CreateUserRequest request) {
+    Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  private int flush(List<Row> batch, RowErrors errors) {
+    Set<String> usernames = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    for (Row row : batch) {
+      usernames.add(row.request().getUsername());
+      emails.add(row.request().getEmail());
+    }
+    Set<String> takenUsernames = new HashSet<>();
+    Set<String> takenEmails = new HashSet<>();
+    for (UserIdentity identity : userRepository.findIdentities(usernames, emails)) {
+      takenUsernames.add(identity.username());
+      takenEmails.add(identity.email());
+    }
+
+    List<Row> accepted = new ArrayList<>(batch.size());
+    for (Row row : batch) {
+      if (takenUsernames.contains(row.request().getUsername())) {
+        errors.add(
+            new BulkRowError(row.line(), row.request().getUsername(), "Username already exists"));
+      } else if (takenEmails.contains(row.request().getEmail())) {
+        errors.add(
+            new BulkRowError(row.line(), row.request().getUsername(), "Email already exists"));
+      } else {
+        accepted.add(row);
+      }
+    }
+    if (accepted.isEmpty()) {
+      return 0;
+    }
+
+    List<String> hashes =
+        encodeAll(accepted.stream().map(row -> row.request().getPassword()).toList());
+    List<Object[]> rows = new ArrayList<>(accepted.size());
+    for (int i = 0; i < accepted.size(); i++) {
+      CreateUserRequest request = accepted.get(i).request();
+      rows.add(
+          new Object[] {
+            request.getUsername(), request.getEmail(), hashes.get(i), request.getRole(), true
+          });
+    }
+    return insert(accepted, rows, errors);
+  }
+
+  private List<String> encodeAll(List<String> passwords) {
+    if (passwordEncoder instanceof OffloadingPasswordEncoder offloading) {
+      return offloading.encodeAll(passwords);
+    }
+    return passwords.stream().map(passwordEncoder::encode).toList();
+  }
+
+  private int insert(List<Row> accepted, List<Object[]> rows, RowErrors errors) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows));
+      return rows.size();
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent insert took a username or email after the duplicate check;
+      // retry row by row so only the clashing rows are rejected
+      int inserted = 0;
+      for (int i = 0; i < rows.size(); i++) {
+        try {
+          jdbcTemplate.update(INSERT_USER_SQL, rows.get(i));
+          inserted++;
+        } catch (DataIntegrityViolationException rowException) {
+          Row row = accepted.get(i);
+          errors.add(
+              new BulkRowError(
+                  row.line(), row.request().getUsername(), "Username or email already exists"));
+        }
+      }
+      return inserted;
+    }
+  }
+
+  private record Row(long line, CreateUserRequest request) {}
+
+  /*
+   * Rejected rows of one request: counts every one, keeps the first max.
+   * Only rows up to the last settle() are reported, so a failed request does not
+   * list rows of the unfinished batch that the client has to send again.
+   */
+  private static final class RowErrors {
+
+    private final int max;
+    private final List<BulkRowError> kept = new ArrayList<>();
+    private int count;
+    private int settledCount;
+    private int settledKept;
+
+    RowErrors(int max) {
+      this.max = max;
+    }
+
+    void add(BulkRowError error) {
+      count++;
+      if (kept.size() < max) {
+        kept.add(error);
+      }
+    }
+
+    void settle() {
+      settledCount = count;
+      settledKept = kept.size();
+    }
+
+    BulkCreateResponse response(String status, int created, long processedLines) {
+      List<BulkRowError> sorted = new ArrayList<>(kept.subList(0, settledKept));
+      sorted.sort(Comparator.comparingLong(BulkRowError::getLine));
+      return new BulkCreateResponse(status, created, settledCount, processedLines, sorted);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.api.main.services;
+
+import com.api.main.entity.User;
+
+/*
+ * Immutable copy of the user columns read on the authentication path.
+ * Cached by UserDetailsCache instead of the managed User entity so cached
+ * values can be shared between threads and never become dirty.
+ */
+public record UserSnapshot(
+    Long id, String username, String email, String passwordHash, String role, boolean enabled) {
+
+  public static UserSnapshot of(User user) {
+    return new UserSnapshot(
+        user.getId(),
+        user.getUsername(),
+        user.getEmail(),
+        user.getPasswordHash(),
+        user.getRole(),
+        user.isEnabled());
+  }
+}
@@ -0,0 +1,32 @@
+-- Schema as described in database.dbml.
+-- Databases created by Hibernate before Flyway was introduced are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and upgraded by V2 onwards.
+
+CREATE TABLE users (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  username VARCHAR(50) NOT NULL,
+  email VARCHAR(255) NOT NULL,
+  password_hash VARCHAR(255) NOT NULL,
+  role VARCHAR(50) NOT NULL,
+  enabled BOOLEAN DEFAULT TRUE NOT NULL,
+  tokens_valid_after TIMESTAMP(6) WITH TIME ZONE,
+  last_token_issued_at TIMESTAMP(6) WITH TIME ZONE,
+  CONSTRAINT uk_users_username UNIQUE (username),
+  CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tokens (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  token_hash BYTEA NOT NULL,
+  username VARCHAR(50) NOT NULL,
+  created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+  expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+  revoked BOOLEAN DEFAULT FALSE NOT NULL,
+  CONSTRAINT uk_tokens_token_hash UNIQUE (token_hash)
+);
+
+CREATE TABLE job_locks (
+  name VARCHAR(64) PRIMARY KEY,
+  locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+  locked_by VARCHAR(255) NOT NULL
+);
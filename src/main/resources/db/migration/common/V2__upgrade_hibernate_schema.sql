@@ -0,0 +1,12 @@
+-- Brings a schema created by Hibernate's ddl-auto=update up to V1.
+-- Every statement is a no-op on a database created by V1.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_token_issued_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE tokens ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+
+CREATE TABLE IF NOT EXISTS job_locks (
+  name VARCHAR(64) PRIMARY KEY,
+  locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+  locked_by VARCHAR(255) NOT NULL
+);
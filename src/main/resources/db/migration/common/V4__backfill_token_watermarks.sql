@@ -0,0 +1,12 @@
+-- Backfills users.last_token_issued_at for sessions created before the token
+-- watermark existed, so their holders are not treated as logged out.
+-- Only users that never had a watermark but still hold a live token are touched.
+
+UPDATE users SET last_token_issued_at = (
+    SELECT MAX(t.created_at) FROM tokens t
+    WHERE t.username = users.username AND t.revoked = FALSE AND t.expires_at > CURRENT_TIMESTAMP)
+  WHERE last_token_issued_at IS NULL
+    AND tokens_valid_after IS NULL
+    AND EXISTS (
+      SELECT 1 FROM tokens t
+      WHERE t.username = users.username AND t.revoked = FALSE AND t.expires_at > CURRENT_TIMESTAMP);
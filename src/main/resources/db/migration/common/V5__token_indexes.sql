@@ -0,0 +1,5 @@
+-- (username, revoked) also serves lookups by username alone.
+-- expires_at drives the expired-token purge and the revocation-list load.
+
+CREATE INDEX IF NOT EXISTS idx_tokens_username_revoked ON tokens (username, revoked);
+CREATE INDEX IF NOT EXISTS idx_tokens_expires_at ON tokens (expires_at);
@@ -0,0 +1,29 @@
+-- Replaces the raw token column of tables created before tokens were hashed.
+-- The digest matches TokenHasher (SHA-256 of the UTF-8 bytes), so sessions
+-- issued before the upgrade keep working. Rows without any token value cannot
+-- be authenticated and are removed before token_hash becomes NOT NULL.
+
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM information_schema.columns
+             WHERE table_schema = current_schema()
+               AND table_name = 'tokens'
+               AND column_name = 'token') THEN
+    UPDATE tokens SET token_hash = sha256(convert_to(token, 'UTF8'))
+      WHERE token_hash IS NULL AND token IS NOT NULL;
+    ALTER TABLE tokens DROP COLUMN token;
+  END IF;
+
+  -- Hibernate named its unique constraint itself; only add one if none exists
+  IF NOT EXISTS (SELECT 1 FROM pg_index i
+                 JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+                 WHERE i.indrelid = 'tokens'::regclass
+                   AND i.indisunique
+                   AND i.indnkeyatts = 1
+                   AND a.attname = 'token_hash') THEN
+    CREATE UNIQUE INDEX uk_tokens_token_hash ON tokens (token_hash);
+  END IF;
+END $$;
+
+DELETE FROM tokens WHERE token_hash IS NULL;
+ALTER TABLE tokens ALTER COLUMN token_hash SET NOT NULL;
@@ -0,0 +1,6 @@
+-- Covering index over unrevoked tokens only: the per-request token lookup can be
+-- answered by an index-only scan, and revoked rows never enter the index.
+
+CREATE INDEX IF NOT EXISTS idx_tokens_active_hash ON tokens (token_hash)
+  INCLUDE (username, created_at, expires_at)
+  WHERE revoked = FALSE;
@@ -0,0 +1,109 @@
+package com.api.main;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.security.TokenHasher;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/*
+ * Runs the migrations, including the PostgreSQL-only scripts, against a real
+ * PostgreSQL server. Each test uses its own schema. Skipped when Docker is not
+ * available; the H2 path is covered by every @SpringBootTest (ddl-auto=validate).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTests {
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Test
+  void freshDatabaseGetsDocumentedIndexes() throws SQLException {
+    flyway("fresh").migrate();
+
+    assertThat(indexes("fresh"))
+        .contains(
+            "uk_tokens_token_hash",
+            "idx_tokens_username_revoked",
+            "idx_tokens_expires_at",
+            "idx_tokens_active_hash");
+  }
+
+  @Test
+  void hibernateSchemaIsUpgradedInPlace() throws SQLException {
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA legacy");
+      statement.execute(
+          "CREATE TABLE legacy.users (id bigserial PRIMARY KEY, username varchar(255) NOT NULL"
+              + " UNIQUE, email varchar(255) NOT NULL UNIQUE, password_hash varchar(255) NOT NULL,"
+              + " role varchar(255) NOT NULL, enabled boolean NOT NULL)");
+      statement.execute(
+          "CREATE TABLE legacy.tokens (id bigserial PRIMARY KEY, token varchar(255) NOT NULL"
+              + " UNIQUE, username varchar(255) NOT NULL, created_at timestamptz NOT NULL,"
+              + " expires_at timestamptz NOT NULL, revoked boolean NOT NULL)");
+      statement.execute(
+          "INSERT INTO legacy.users (username, email, password_hash, role, enabled)"
+              + " VALUES ('legacy-user', 'legacy@example.com', 'x', 'USER', true)");
+      statement.execute(
+          "INSERT INTO legacy.tokens (token, username, created_at, expires_at, revoked)"
+              + " VALUES ('raw-token', 'legacy-user', now(), now() + interval '1 hour', false)");
+    }
+
+    flyway("legacy").migrate();
+
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement();
+        ResultSet rows =
+            statement.executeQuery(
+                "SELECT t.token_hash, u.last_token_issued_at FROM legacy.tokens t"
+                    + " JOIN legacy.users u ON u.username = t.username")) {
+      assertThat(rows.next()).isTrue();
+      assertThat(rows.getBytes(1)).isEqualTo(TokenHasher.hash("raw-token"));
+      assertThat(rows.getTimestamp(2)).isNotNull();
+    }
+    assertThat(indexes("legacy")).contains("idx_tokens_active_hash", "idx_tokens_expires_at");
+  }
+
+  private static Flyway flyway(String schema) {
+    return Flyway.configure()
+        .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+        .schemas(schema)
+        .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+        .baselineOnMigrate(true)
+        .load();
+  }
+
+  private static Connection connect() throws SQLException {
+    return DriverManager.getConnection(
+        postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+  }
+
+  private static List<String> indexes(String schema) throws SQLException {
+    List<String> names = new ArrayList<>();
+    try (Connection connection = connect();
+        ResultSet rows =
+            connection
+                .createStatement()
+                .executeQuery(
+                    "SELECT indexname FROM pg_indexes WHERE schemaname = '"
+                        + schema
+                        + "' AND tablename = 'tokens'")) {
+      while (rows.next()) {
+        names.add(rows.getString(1));
+      }
+    }
+    return names;
+  }
+}
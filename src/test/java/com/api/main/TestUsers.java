@@ -0,0 +1,74 @@
+package com.api.main;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.entity.User;
+import com.api.main.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+/*
+ * Test accounts shared by the integration tests.
+ * Every account uses PASSWORD and an email derived from its username, and is
+ * created only once per application context.
+ */
+public final class TestUsers {
+
+  public static final String PASSWORD = "Passw0rd!";
+
+  private TestUsers() {}
+
+  /*
+   * Return the user, creating it on first use.
+   * @param userRepository Repository of the test context
+   * @param passwordEncoder Encoder of the test context
+   * @param username The username
+   * @param role USER or ADMIN
+   * @return The stored user
+   *
+   */
+  public static User ensure(
+      UserRepository userRepository,
+      PasswordEncoder passwordEncoder,
+      String username,
+      String role) {
+    return userRepository
+        .findByUsername(username)
+        .orElseGet(
+            () ->
+                userRepository.save(
+                    new User(
+                        username, email(username), passwordEncoder.encode(PASSWORD), role)));
+  }
+
+  /*
+   * Log in through /auth/login and return the issued token.
+   * @param mockMvc MockMvc of the test context
+   * @param objectMapper Mapper used to read the response
+   * @param username A user created with ensure
+   * @return The bearer token
+   *
+   */
+  public static String login(MockMvc mockMvc, ObjectMapper objectMapper, String username)
+      throws Exception {
+    String body =
+        mockMvc
+            .perform(
+                post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    return objectMapper.readTree(body).get("token").asText();
+  }
+
+  private static String email(String username) {
+    return username.replaceAll("[^A-Za-z0-9-]", "") + "@example.com";
+  }
+}
@@ -0,0 +1,41 @@
+package com.api.main.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+class ConnectionPoolConfigTests {
+
+  @Test
+  void derivedSizeIsAppliedWithoutExplicitMaximum() {
+    BeanPostProcessor sizer =
+        ConnectionPoolConfig.connectionPoolSizer(5, 64, new MockEnvironment());
+    try (HikariDataSource hikari = new HikariDataSource()) {
+      sizer.postProcessBeforeInitialization(hikari, "dataSource");
+
+      assertThat(hikari.getMaximumPoolSize()).isEqualTo(5);
+    }
+  }
+
+  @Test
+  void explicitMaximumPoolSizeIsKept() {
+    MockEnvironment environment =
+        new MockEnvironment().withProperty(ConnectionPoolConfig.MAXIMUM_POOL_SIZE_PROPERTY, "17");
+    BeanPostProcessor sizer = ConnectionPoolConfig.connectionPoolSizer(5, 64, environment);
+    try (HikariDataSource hikari = new HikariDataSource()) {
+      hikari.setMaximumPoolSize(17);
+      sizer.postProcessBeforeInitialization(hikari, "dataSource");
+
+      assertThat(hikari.getMaximumPoolSize()).isEqualTo(17);
+    }
+  }
+
+  @Test
+  void poolSizeNeverDropsBelowTwo() {
+    assertThat(ConnectionPoolConfig.poolSize(0, 64, 0)).isEqualTo(2);
+    assertThat(ConnectionPoolConfig.poolSize(0, 4, 8)).isEqualTo(4);
+  }
+}
@@ -0,0 +1,51 @@
+package com.api.main.config;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class ForwardedHeadersConfigTests {
+
+  @Test
+  void headersAreIgnoredByDefault() {
+    assertThatCode(() -> ForwardedHeadersConfig.check(new MockEnvironment()))
+        .doesNotThrowAnyException();
+    assertThatCode(() -> ForwardedHeadersConfig.check(strategy("none")))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  void nativeWithoutInternalProxiesIsRejected() {
+    assertThatThrownBy(() -> ForwardedHeadersConfig.check(strategy("native")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining(ForwardedHeadersConfig.INTERNAL_PROXIES_PROPERTY);
+    assertThatThrownBy(
+            () ->
+                ForwardedHeadersConfig.check(
+                    strategy("native")
+                        .withProperty(ForwardedHeadersConfig.INTERNAL_PROXIES_PROPERTY, " ")))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void nativeWithInternalProxiesIsAccepted() {
+    MockEnvironment environment =
+        strategy("native")
+            .withProperty(ForwardedHeadersConfig.INTERNAL_PROXIES_PROPERTY, "10\\.0\\.0\\.5");
+
+    assertThatCode(() -> ForwardedHeadersConfig.check(environment)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void frameworkIsRejected() {
+    assertThatThrownBy(() -> ForwardedHeadersConfig.check(strategy("framework")))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static MockEnvironment strategy(String value) {
+    return new MockEnvironment()
+        .withProperty(ForwardedHeadersConfig.STRATEGY_PROPERTY, value);
+  }
+}
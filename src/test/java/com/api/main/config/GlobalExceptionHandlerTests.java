@@ -0,0 +1,102 @@
+package com.api.main.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.dto.BulkCreateResponse;
+import com.api.main.exceptions.BulkProvisioningException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class GlobalExceptionHandlerTests {
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    ReflectionTestUtils.setField(handler, "poolRetryAfterSeconds", 3L);
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new FailingController())
+            .setControllerAdvice(handler)
+            .build();
+  }
+
+  @Test
+  void poolTimeoutInTransactionIsServiceUnavailable() throws Exception {
+    mockMvc
+        .perform(get("/transaction"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+  }
+
+  @Test
+  void poolTimeoutInUserLookupIsServiceUnavailable() throws Exception {
+    mockMvc
+        .perform(get("/lookup"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+  }
+
+  @Test
+  void otherDatabaseFailureIsInternalServerError() throws Exception {
+    mockMvc
+        .perform(get("/database"))
+        .andExpect(status().isInternalServerError())
+        .andExpect(header().doesNotExist(HttpHeaders.RETRY_AFTER));
+  }
+
+  @Test
+  void interruptedBulkRequestReturnsItsProgress() throws Exception {
+    mockMvc
+        .perform(get("/bulk"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+        .andExpect(jsonPath("$.status").value("error"))
+        .andExpect(jsonPath("$.created").value(500))
+        .andExpect(jsonPath("$.processedLines").value(512));
+  }
+
+  @RestController
+  static class FailingController {
+
+    @GetMapping("/bulk")
+    String bulk() {
+      throw new BulkProvisioningException(
+          new BulkCreateResponse("error", 500, 12, 512, List.of()),
+          new CannotCreateTransactionException("no connection", poolTimeout()));
+    }
+
+    @GetMapping("/transaction")
+    String transaction() {
+      throw new CannotCreateTransactionException("no connection", poolTimeout());
+    }
+
+    @GetMapping("/lookup")
+    String lookup() {
+      throw new InternalAuthenticationServiceException("lookup failed", poolTimeout());
+    }
+
+    @GetMapping("/database")
+    String database() {
+      throw new DataAccessResourceFailureException("database down");
+    }
+
+    private static SQLTransientConnectionException poolTimeout() {
+      return new SQLTransientConnectionException("main - Connection is not available");
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.api.main.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.TestUsers;
+import com.api.main.repositories.UserRepository;
+import com.api.main.services.ReadinessProbe;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class HealthTests {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ReadinessProbe readinessProbe;
+  @Autowired private ApplicationContext applicationContext;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  void livenessIsPublicAndUp() throws Exception {
+    for (String path : new String[] {"/health", "/health/live"}) {
+      mockMvc
+          .perform(get(path))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.status").value("UP"));
+    }
+  }
+
+  @Test
+  void readinessReportsOnlyTheStatusPublicly() throws Exception {
+    awaitFirstProbe();
+
+    mockMvc
+        .perform(get("/health/ready"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("UP"))
+        .andExpect(jsonPath("$.checks").doesNotExist());
+  }
+
+  @Test
+  void readinessChecksNeedAnAdminOnTheActuator() throws Exception {
+    awaitFirstProbe();
+    TestUsers.ensure(userRepository, passwordEncoder, "health-admin", "ADMIN");
+    TestUsers.ensure(userRepository, passwordEncoder, "health-user", "USER");
+    String admin = TestUsers.login(mockMvc, objectMapper, "health-admin");
+    String user = TestUsers.login(mockMvc, objectMapper, "health-user");
+
+    mockMvc.perform(get("/actuator/health")).andExpect(status().isUnauthorized());
+    mockMvc
+        .perform(get("/actuator/health").header("Authorization", "Bearer " + user))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.components").doesNotExist());
+    String checks = "$.components.readiness.details.checks";
+    mockMvc
+        .perform(get("/actuator/health").header("Authorization", "Bearer " + admin))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath(checks + ".database.status").value("UP"))
+        .andExpect(jsonPath(checks + ".connectionPool.details.active").exists())
+        .andExpect(jsonPath(checks + ".passwordHashing.status").value("UP"));
+  }
+
+  @Test
+  void readinessIsUnavailableWhileRefusingTraffic() throws Exception {
+    awaitFirstProbe();
+    AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+    try {
+      mockMvc
+          .perform(get("/health/ready"))
+          .andExpect(status().isServiceUnavailable())
+          .andExpect(jsonPath("$.status").value("DOWN"));
+      mockMvc.perform(get("/health/live")).andExpect(status().isOk());
+    } finally {
+      AvailabilityChangeEvent.publish(applicationContext, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+  }
+
+  private void awaitFirstProbe() throws InterruptedException {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while (readinessProbe.current().checkedAt() == null && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.api.main.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.TestUsers;
+import com.api.main.repositories.UserRepository;
+import com.api.main.services.RevocationEvent;
+import com.api.main.services.RevocationEventBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTests {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private RevocationEventBus revocationEventBus;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  void meRejectsATokenOnceTheWatermarkPassesIt() throws Exception {
+    String username = "watermark-user";
+    TestUsers.ensure(userRepository, passwordEncoder, username, "USER");
+    String token = TestUsers.login(mockMvc, objectMapper, username);
+    me(token).andExpect(status().isOk()).andExpect(jsonPath("$.username").value(username));
+    Thread.sleep(5);
+
+    // Another instance revokes the user's tokens: it moves the watermark and broadcasts it
+    Instant before = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    transactionTemplate.executeWithoutResult(
+        status -> userRepository.revokeTokensBefore(username, before));
+    revocationEventBus.publish(RevocationEvent.user(username, before));
+
+    me(token).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void bulkLogoutRevokesOlderTokensButNotNewerOnes() throws Exception {
+    String username = "bulk-logout-user";
+    TestUsers.ensure(userRepository, passwordEncoder, username, "USER");
+    String first = TestUsers.login(mockMvc, objectMapper, username);
+    String second = TestUsers.login(mockMvc, objectMapper, username);
+    me(first).andExpect(status().isOk());
+    me(second).andExpect(status().isOk());
+
+    mockMvc
+        .perform(post("/users/logout").header("Authorization", "Bearer " + second))
+        .andExpect(status().isOk());
+    Thread.sleep(5);
+    String third = TestUsers.login(mockMvc, objectMapper, username);
+
+    me(first).andExpect(status().isUnauthorized());
+    me(second).andExpect(status().isUnauthorized());
+    me(third).andExpect(status().isOk()).andExpect(jsonPath("$.username").value(username));
+  }
+
+  private ResultActions me(String token) throws Exception {
+    return mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + token));
+  }
+}
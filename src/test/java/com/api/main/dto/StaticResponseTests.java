@@ -0,0 +1,77 @@
+package com.api.main.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.constants.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class StaticResponseTests {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void bodiesMatchTheResponsesTheyReplace() throws Exception {
+    assertSameJson(
+        StaticResponse.INVALID_CREDENTIALS,
+        new ErrorResponse(Constants.ERROR, Constants.INVALID_CREDENTIALS));
+    assertSameJson(
+        StaticResponse.ACCESS_DENIED, new ErrorResponse(Constants.ERROR, Constants.ACCESS_DENIED));
+    assertSameJson(StaticResponse.HEALTH_UP, new HealthResponse(Constants.UP));
+    assertThat(objectMapper.readTree(StaticResponse.LOGGED_OUT.entity().getBody()))
+        .isEqualTo(
+            objectMapper.readTree(
+                "{\"status\":\"success\",\"message\":\""
+                    + Constants.LOGGED_OUT_SUCCESSFULLY
+                    + "\"}"));
+  }
+
+  @Test
+  void entityCarriesStatusContentTypeAndLength() {
+    for (StaticResponse response : StaticResponse.values()) {
+      ResponseEntity<byte[]> entity = response.entity();
+
+      assertThat(entity.getStatusCode()).isEqualTo(response.status());
+      assertThat(entity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+      assertThat(entity.getHeaders().getContentLength()).isEqualTo(entity.getBody().length);
+      assertThat(entity).isSameAs(response.entity());
+    }
+  }
+
+  @Test
+  void withHeaderDoesNotChangeTheSharedEntity() {
+    ResponseEntity<byte[]> withRetry =
+        StaticResponse.SERVICE_UNAVAILABLE.withHeader(HttpHeaders.RETRY_AFTER, "2");
+
+    assertThat(withRetry.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    assertThat(withRetry.getBody())
+        .isEqualTo(StaticResponse.SERVICE_UNAVAILABLE.entity().getBody());
+    assertThat(StaticResponse.SERVICE_UNAVAILABLE.entity().getHeaders())
+        .doesNotContainKey(HttpHeaders.RETRY_AFTER);
+  }
+
+  @Test
+  void writeSendsTheSameBytesToTheServletResponse() throws Exception {
+    MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+    StaticResponse.UNAUTHORIZED.write(servletResponse);
+
+    assertThat(servletResponse.getStatus()).isEqualTo(401);
+    assertThat(servletResponse.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+    assertThat(servletResponse.getContentLength())
+        .isEqualTo(StaticResponse.UNAUTHORIZED.entity().getBody().length);
+    assertThat(servletResponse.getContentAsString(StandardCharsets.UTF_8))
+        .isEqualTo(
+            new String(StaticResponse.UNAUTHORIZED.entity().getBody(), StandardCharsets.UTF_8));
+  }
+
+  private void assertSameJson(StaticResponse response, Object expected) throws Exception {
+    assertThat(objectMapper.readTree(response.entity().getBody()))
+        .isEqualTo(objectMapper.valueToTree(expected));
+  }
+}
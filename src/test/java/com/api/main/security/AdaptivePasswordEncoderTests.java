@@ -0,0 +1,63 @@
+package com.api.main.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class AdaptivePasswordEncoderTests {
+
+  private static final String PASSWORD = "Passw0rd!";
+
+  private final AdaptivePasswordEncoder bcryptTarget =
+      new AdaptivePasswordEncoder(AdaptivePasswordEncoder.BCRYPT, 6, 1000);
+
+  @Test
+  void hashAtTheTargetIsKept() {
+    String hash = bcryptTarget.encode(PASSWORD);
+
+    assertThat(hash).startsWith("{bcrypt}$2a$06$");
+    assertThat(bcryptTarget.matches(PASSWORD, hash)).isTrue();
+    assertThat(bcryptTarget.upgradeEncoding(hash)).isFalse();
+  }
+
+  @Test
+  void lowerCostBcryptHashIsUpgraded() {
+    String hash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+    assertThat(bcryptTarget.matches(PASSWORD, hash)).isTrue();
+    assertThat(bcryptTarget.upgradeEncoding(hash)).isTrue();
+  }
+
+  @Test
+  void pbkdf2HashIsUpgradedToBcrypt() {
+    String hash = pbkdf2(1000).encode(PASSWORD);
+
+    assertThat(hash).startsWith("{pbkdf2}1000$");
+    assertThat(bcryptTarget.matches(PASSWORD, hash)).isTrue();
+    assertThat(bcryptTarget.upgradeEncoding(hash)).isTrue();
+  }
+
+  @Test
+  void pbkdf2HashWithOtherIterationsIsUpgraded() {
+    AdaptivePasswordEncoder pbkdf2Target = pbkdf2(2000);
+    String hash = pbkdf2(1000).encode(PASSWORD);
+
+    assertThat(pbkdf2Target.matches(PASSWORD, hash)).isTrue();
+    assertThat(pbkdf2Target.upgradeEncoding(hash)).isTrue();
+    assertThat(pbkdf2Target.upgradeEncoding(pbkdf2Target.encode(PASSWORD))).isFalse();
+  }
+
+  @Test
+  void unprefixedLegacyHashVerifiesAndIsUpgraded() {
+    String hash = new BCryptPasswordEncoder(6).encode(PASSWORD);
+
+    assertThat(bcryptTarget.matches(PASSWORD, hash)).isTrue();
+    assertThat(bcryptTarget.matches("wrong", hash)).isFalse();
+    assertThat(bcryptTarget.upgradeEncoding(hash)).isTrue();
+  }
+
+  private static AdaptivePasswordEncoder pbkdf2(int iterations) {
+    return new AdaptivePasswordEncoder(AdaptivePasswordEncoder.PBKDF2, 6, iterations);
+  }
+}
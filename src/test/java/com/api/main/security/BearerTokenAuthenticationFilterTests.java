@@ -0,0 +1,63 @@
+package com.api.main.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.TestUsers;
+import com.api.main.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BearerTokenAuthenticationFilterTests {
+
+  private static final String USERNAME = "bearer-user";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void createUser() {
+    TestUsers.ensure(userRepository, passwordEncoder, USERNAME, "USER");
+  }
+
+  @Test
+  void issuedTokenAuthenticatesUntilLogout() throws Exception {
+    String token = login();
+
+    mockMvc
+        .perform(get("/users/me").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.username").value(USERNAME));
+
+    mockMvc
+        .perform(post("/users/logout").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(get("/users/me").header("Authorization", "Bearer " + token))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void unknownTokenIsRejected() throws Exception {
+    mockMvc
+        .perform(get("/users/me").header("Authorization", "Bearer not-a-real-token"))
+        .andExpect(status().isUnauthorized());
+  }
+
+  private String login() throws Exception {
+    return TestUsers.login(mockMvc, objectMapper, USERNAME);
+  }
+}
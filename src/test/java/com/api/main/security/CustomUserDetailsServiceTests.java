@@ -0,0 +1,39 @@
+package com.api.main.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+
+import com.api.main.TestUsers;
+import com.api.main.dto.LoginRequest;
+import com.api.main.entity.User;
+import com.api.main.repositories.UserRepository;
+import com.api.main.services.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+@SpringBootTest(properties = "security.password.bcrypt-strength=6")
+class CustomUserDetailsServiceTests {
+
+  private static final String USERNAME = "rehash-user";
+
+  @Autowired private AuthService authService;
+  @Autowired private UserRepository userRepository;
+  @MockitoSpyBean private CustomUserDetailsService customUserDetailsService;
+
+  @Test
+  void loginRehashesAnOutdatedHash() {
+    String outdated = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(TestUsers.PASSWORD);
+    userRepository.save(new User(USERNAME, "rehash-user@example.com", outdated, "USER"));
+
+    authService.authenticate(new LoginRequest(USERNAME, TestUsers.PASSWORD));
+
+    verify(customUserDetailsService).updatePassword(any(), startsWith("{bcrypt}$2a$06$"));
+    String stored = userRepository.findByUsername(USERNAME).orElseThrow().getPasswordHash();
+    assertThat(stored).startsWith("{bcrypt}$2a$06$");
+  }
+}
@@ -0,0 +1,153 @@
+package com.api.main.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.TestUsers;
+import com.api.main.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(
+    properties = {
+      "security.login-rate-limit.ip.per-minute=1",
+      "security.login-rate-limit.ip.burst=3",
+      "security.login-rate-limit.username.per-minute=1",
+      "security.login-rate-limit.username.burst=2"
+    })
+@AutoConfigureMockMvc
+class LoginRateLimitFilterTests {
+
+  private static final String USERNAME = "limited-user";
+  private static final String PASSWORD = TestUsers.PASSWORD;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  void createUser() {
+    TestUsers.ensure(userRepository, passwordEncoder, USERNAME, "USER");
+  }
+
+  @Test
+  void usernameIsLimitedAcrossAddressesAndCase() throws Exception {
+    login("10.0.0.1", USERNAME, PASSWORD).andExpect(status().isOk());
+    login("10.0.0.2", USERNAME, "wrong-password").andExpect(status().isUnauthorized());
+
+    login("10.0.0.3", USERNAME.toUpperCase(), PASSWORD)
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists("Retry-After"))
+        .andExpect(jsonPath("$.message").value("Too many login attempts"));
+  }
+
+  @Test
+  void addressIsLimitedAcrossUsernames() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      login("10.0.1.1", "unknown-user-" + i, PASSWORD).andExpect(status().isUnauthorized());
+    }
+
+    login("10.0.1.1", "unknown-user-3", PASSWORD).andExpect(status().isTooManyRequests());
+    login("10.0.1.2", "unknown-user-3", PASSWORD).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void paddedBodyIsStillLimitedByUsername() throws Exception {
+    String padding = " ".repeat(LoginRateLimitFilter.MAX_BODY_BYTES - 100);
+    String body = "{" + padding + "\"password\":\"x\",\"username\":\"padded-user\"}";
+    loginWith("10.0.2.1", body).andExpect(status().isUnauthorized());
+    loginWith("10.0.2.2", body).andExpect(status().isUnauthorized());
+
+    loginWith("10.0.2.3", body).andExpect(status().isTooManyRequests());
+  }
+
+  @Test
+  void lastDuplicateUsernameIsLimited() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      loginWith(
+              "10.0.3." + i,
+              "{\"username\":\"decoy-" + i + "\",\"username\":\"target-user\",\"password\":\"x\"}")
+          .andExpect(status().isUnauthorized());
+    }
+
+    login("10.0.3.9", "target-user", "x").andExpect(status().isTooManyRequests());
+  }
+
+  @Test
+  void oversizedBodyIsRejected() throws Exception {
+    String password = "x".repeat(LoginRateLimitFilter.MAX_BODY_BYTES);
+    login("10.0.4.1", "oversized-user", password)
+        .andExpect(status().isPayloadTooLarge())
+        .andExpect(jsonPath("$.message").value("Login request too large"));
+  }
+
+  @Test
+  void bufferedBodyNotifiesReadListener() throws Exception {
+    LoginRateLimiter limiter = new LoginRateLimiter(new SimpleMeterRegistry(), 60, 20, 10, 5, 10);
+    LoginRateLimitFilter filter = new LoginRateLimitFilter(limiter);
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+    request.setContent("{\"username\":\"listener-user\"}".getBytes(StandardCharsets.UTF_8));
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    ServletInputStream body = chain.getRequest().getInputStream();
+    List<String> events = new ArrayList<>();
+    body.setReadListener(
+        new ReadListener() {
+          @Override
+          public void onDataAvailable() throws IOException {
+            events.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+          }
+
+          @Override
+          public void onAllDataRead() {
+            events.add("all-read");
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            events.add("error");
+          }
+        });
+
+    assertThat(events).containsExactly("{\"username\":\"listener-user\"}", "all-read");
+  }
+
+  private ResultActions login(String address, String username, String password)
+      throws Exception {
+    return loginWith(
+        address, "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}");
+  }
+
+  private ResultActions loginWith(String address, String body) throws Exception {
+    return mockMvc.perform(
+        post("/auth/login")
+            .with(
+                request -> {
+                  request.setRemoteAddr(address);
+                  return request;
+                })
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body));
+  }
+}
@@ -0,0 +1,23 @@
+package com.api.main.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class PasswordCostCalibratorTests {
+
+  @Test
+  void tinyBudgetIsRaisedToTheMinimumCost() {
+    assertThat(PasswordCostCalibrator.calibrateBcrypt(Duration.ofNanos(1)))
+        .isEqualTo(PasswordCostCalibrator.BCRYPT_MIN_STRENGTH);
+    assertThat(PasswordCostCalibrator.calibratePbkdf2(Duration.ofNanos(1)))
+        .isEqualTo(PasswordCostCalibrator.PBKDF2_MIN_ITERATIONS);
+  }
+
+  @Test
+  void hugeBudgetIsCappedAtTheMaximumBcryptCost() {
+    assertThat(PasswordCostCalibrator.calibrateBcrypt(Duration.ofDays(1)))
+        .isEqualTo(PasswordCostCalibrator.BCRYPT_MAX_STRENGTH);
+  }
+}
@@ -0,0 +1,93 @@
+package com.api.main.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.TestUsers;
+import com.api.main.repositories.UserRepository;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {
+      "security.password.hash-threads=1",
+      "security.password.hash-queue-capacity=1",
+      "security.password.retry-after=7"
+    })
+@AutoConfigureMockMvc
+class PasswordHashSheddingTests {
+
+  private static final String USERNAME = "shed-user";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PasswordHashExecutor passwordHashExecutor;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @Test
+  void loginIsShedWithRetryAfterWhenTheHashQueueIsFull() throws Exception {
+    TestUsers.ensure(userRepository, passwordEncoder, USERNAME, "USER");
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      // One task holds the only hashing thread, a second fills the one-slot queue
+      callers.submit(
+          () ->
+              passwordHashExecutor.execute(
+                  () -> {
+                    running.countDown();
+                    return awaitQuietly(release);
+                  }));
+      running.await(5, TimeUnit.SECONDS);
+      callers.submit(() -> passwordHashExecutor.execute(() -> awaitQuietly(release)));
+      awaitSaturation();
+
+      mockMvc
+          .perform(
+              post("/auth/login")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(
+                      "{\"username\":\""
+                          + USERNAME
+                          + "\",\"password\":\""
+                          + TestUsers.PASSWORD
+                          + "\"}"))
+          .andExpect(status().isServiceUnavailable())
+          .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+          .andExpect(jsonPath("$.status").value("error"));
+    } finally {
+      release.countDown();
+      callers.shutdown();
+      callers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  private void awaitSaturation() throws InterruptedException {
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (passwordHashExecutor.saturation() < 1.0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static boolean awaitQuietly(CountDownLatch latch) {
+    try {
+      return latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
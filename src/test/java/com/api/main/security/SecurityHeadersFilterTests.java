@@ -0,0 +1,77 @@
+package com.api.main.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SecurityHeadersFilterTests {
+
+  @Test
+  void unmatchedPathsGetTheDefaultHeaders() throws Exception {
+    MockHttpServletResponse response = filter("/users/me");
+
+    assertThat(response.getHeader("X-Frame-Options")).isEqualTo("DENY");
+    assertThat(response.getHeader("Strict-Transport-Security")).startsWith("max-age=");
+    assertThat(response.getHeader("Cache-Control")).contains("no-store");
+  }
+
+  @Test
+  void exactPathGetsOnlyItsProfileHeaders() throws Exception {
+    MockHttpServletResponse response = filter("/health");
+
+    assertThat(response.getHeaderNames())
+        .containsExactlyInAnyOrder("X-Content-Type-Options", "Cache-Control");
+    assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+  }
+
+  @Test
+  void prefixProfileMatchesNestedPathsAndSkipsBlankValues() throws Exception {
+    MockHttpServletResponse response = filter("/docs/api/index.html");
+
+    assertThat(response.getHeader("Content-Security-Policy")).isEqualTo("default-src 'none'");
+    assertThat(response.getHeader("X-Frame-Options")).isNull();
+    assertThat(filter("/docsearch").getHeader("X-Frame-Options")).isEqualTo("DENY");
+  }
+
+  @Test
+  void exactPathWinsOverPrefix() throws Exception {
+    MockHttpServletResponse response = filter("/docs/health");
+
+    assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+    assertThat(response.getHeader("Content-Security-Policy")).isNull();
+  }
+
+  private static MockHttpServletResponse filter(String path) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    new SecurityHeadersFilter(properties())
+        .doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+    return response;
+  }
+
+  private static SecurityHeadersProperties properties() {
+    Map<String, String> healthHeaders = new LinkedHashMap<>();
+    healthHeaders.put("X-Content-Type-Options", "nosniff");
+    healthHeaders.put("Cache-Control", "no-store");
+    SecurityHeadersProperties.Profile health = new SecurityHeadersProperties.Profile();
+    health.setPaths(List.of("/health", "/docs/health"));
+    health.setHeaders(healthHeaders);
+
+    Map<String, String> docsHeaders = new LinkedHashMap<>();
+    docsHeaders.put("Content-Security-Policy", "default-src 'none'");
+    docsHeaders.put("X-Frame-Options", " ");
+    SecurityHeadersProperties.Profile docs = new SecurityHeadersProperties.Profile();
+    docs.setPaths(List.of("/docs/**"));
+    docs.setHeaders(docsHeaders);
+
+    SecurityHeadersProperties properties = new SecurityHeadersProperties();
+    properties.getProfiles().put("health", health);
+    properties.getProfiles().put("docs", docs);
+    return properties;
+  }
+}
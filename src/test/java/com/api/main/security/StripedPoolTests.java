@@ -0,0 +1,57 @@
+package com.api.main.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class StripedPoolTests {
+
+  @Test
+  void virtualThreadsReuseInstances() throws Exception {
+    AtomicInteger created = new AtomicInteger();
+    StripedPool<StringBuilder> pool =
+        new StripedPool<>(
+            () -> {
+              created.incrementAndGet();
+              return new StringBuilder();
+            });
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 10_000; i++) {
+        executor.submit(
+            () -> {
+              StringBuilder instance = pool.acquire();
+              pool.release(instance);
+            });
+      }
+    }
+
+    assertThat(created.get()).isLessThan(1_000);
+  }
+
+  @Test
+  void pooledDigestsStayCorrectUnderConcurrency() throws Exception {
+    byte[] expected =
+        HexFormat.of()
+            .parseHex("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+    AtomicInteger mismatches = new AtomicInteger();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 10_000; i++) {
+        executor.submit(
+            () -> {
+              if (!Arrays.equals(TokenHasher.hash("hello"), expected)) {
+                mismatches.incrementAndGet();
+              }
+            });
+      }
+    }
+
+    assertThat(mismatches).hasValue(0);
+  }
+}
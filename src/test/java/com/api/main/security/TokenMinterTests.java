@@ -0,0 +1,67 @@
+package com.api.main.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TokenMinterTests {
+
+  private static final String TOKEN_PATTERN = "[A-Za-z0-9_-]{43}";
+
+  @Test
+  void tokensAreUrlSafe256BitValues() {
+    String token = new TokenMinter(0, false).generate();
+
+    assertThat(token).matches(TOKEN_PATTERN);
+    assertThat(Base64.getUrlDecoder().decode(token)).hasSize(32);
+  }
+
+  @Test
+  void concurrentVirtualThreadsNeverShareAToken() throws Exception {
+    TokenMinter minter = new TokenMinter(0, false);
+    Set<String> tokens = ConcurrentHashMap.newKeySet();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> tasks =
+          IntStream.range(0, 64)
+              .<Future<?>>mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> {
+                            for (int j = 0; j < 100; j++) {
+                              tokens.add(minter.generate());
+                            }
+                          }))
+              .toList();
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    }
+
+    assertThat(tokens).hasSize(6400).allMatch(token -> token.matches(TOKEN_PATTERN));
+  }
+
+  @Test
+  void prefilledBufferFallsBackToGeneratingWhenDrained() {
+    TokenMinter minter = new TokenMinter(8, true);
+    minter.start();
+    try {
+      Set<String> tokens = ConcurrentHashMap.newKeySet();
+      for (int i = 0; i < 100; i++) {
+        tokens.add(minter.mint());
+      }
+
+      assertThat(tokens).hasSize(100).allMatch(token -> token.matches(TOKEN_PATTERN));
+    } finally {
+      minter.stop();
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.dto.LoginRequest;
+import com.api.main.TestUsers;
+import com.api.main.repositories.UserRepository;
+import com.api.main.security.TokenHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@SpringBootTest
+class AuthServiceTests {
+
+  private static final String USERNAME = "phases-user";
+  private static final String PASSWORD = TestUsers.PASSWORD;
+
+  @Autowired private AuthService authService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void createUser() {
+    TestUsers.ensure(userRepository, passwordEncoder, USERNAME, "USER");
+  }
+
+  @Test
+  void loginTimesLookupHashingAndTokenSeparately() {
+    long[] before = phaseCounts();
+
+    authService.authenticate(new LoginRequest(USERNAME, PASSWORD));
+
+    long[] after = phaseCounts();
+    for (int i = 0; i < after.length; i++) {
+      assertThat(after[i]).isEqualTo(before[i] + 1);
+    }
+  }
+
+  @Test
+  void storedTokenIsOnlyItsDigest() {
+    String token = authService.authenticate(new LoginRequest(USERNAME, PASSWORD)).getToken();
+
+    List<Map<String, Object>> rows =
+        jdbcTemplate.queryForList("SELECT * FROM tokens WHERE username = ?", USERNAME);
+    assertThat(rows)
+        .anySatisfy(row -> assertThat(row.get("TOKEN_HASH")).isEqualTo(TokenHasher.hash(token)));
+    byte[] raw = token.getBytes(StandardCharsets.UTF_8);
+    for (Map<String, Object> row : rows) {
+      for (Object value : row.values()) {
+        assertThat(String.valueOf(value)).doesNotContain(token);
+        if (value instanceof byte[] bytes) {
+          assertThat(bytes).hasSize(TokenHasher.HASH_LENGTH).isNotEqualTo(raw);
+        }
+      }
+    }
+  }
+
+  private long[] phaseCounts() {
+    String[] phases = {"user_lookup", "password", "token_mint", "token_store"};
+    long[] counts = new long[phases.length];
+    for (int i = 0; i < phases.length; i++) {
+      counts[i] =
+          meterRegistry.get("auth.authenticate.phase").tag("phase", phases[i]).timer().count();
+    }
+    return counts;
+  }
+}
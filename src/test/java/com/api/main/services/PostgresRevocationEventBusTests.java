@@ -0,0 +1,112 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/*
+ * Round-trips revocation events through LISTEN/NOTIFY on a real PostgreSQL
+ * server. Skipped when Docker is not available, like FlywayMigrationTests.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresRevocationEventBusTests {
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:16-alpine");
+
+  private final BlockingQueue<RevocationEvent> received = new LinkedBlockingQueue<>();
+  private DriverManagerDataSource dataSource;
+  private PostgresRevocationEventBus bus;
+
+  @BeforeEach
+  void start() {
+    dataSource =
+        new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    DataSourceProperties properties = new DataSourceProperties();
+    properties.setUrl(postgres.getJdbcUrl());
+    properties.setUsername(postgres.getUsername());
+    properties.setPassword(postgres.getPassword());
+    bus = new PostgresRevocationEventBus(new JdbcTemplate(dataSource), properties);
+    ReflectionTestUtils.setField(bus, "channel", "token_revocations_test");
+    ReflectionTestUtils.setField(bus, "pollIntervalMillis", 100);
+    ReflectionTestUtils.setField(bus, "reconnectDelayMillis", 100L);
+    bus.subscribe(received::add);
+    bus.start();
+  }
+
+  @AfterEach
+  void stop() throws InterruptedException {
+    bus.stop();
+  }
+
+  @Test
+  void publishedEventsArriveIntact() throws InterruptedException {
+    RevocationEvent user =
+        RevocationEvent.user("a:b", Instant.now().truncatedTo(ChronoUnit.MICROS));
+    RevocationEvent token = RevocationEvent.token("digest-key");
+
+    // The listener connects asynchronously; publish until the first event arrives
+    RevocationEvent first = null;
+    for (int attempt = 0; attempt < 50 && first == null; attempt++) {
+      bus.publish(user);
+      first = received.poll(100, TimeUnit.MILLISECONDS);
+    }
+    bus.publish(token);
+
+    assertThat(first).isEqualTo(user);
+    assertThat(nextOtherThan(user)).isEqualTo(token);
+  }
+
+  @Test
+  void eventIsDeliveredOnlyWhenItsTransactionCommits() throws InterruptedException {
+    awaitListening();
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+    transaction.executeWithoutResult(
+        status -> {
+          bus.publish(RevocationEvent.token("rolled-back"));
+          status.setRollbackOnly();
+        });
+    transaction.executeWithoutResult(status -> bus.publish(RevocationEvent.token("committed")));
+
+    assertThat(nextOtherThan(RevocationEvent.userDetails("probe")))
+        .isEqualTo(RevocationEvent.token("committed"));
+  }
+
+  private void awaitListening() throws InterruptedException {
+    RevocationEvent probe = RevocationEvent.userDetails("probe");
+    for (int attempt = 0; attempt < 50; attempt++) {
+      bus.publish(probe);
+      if (received.poll(100, TimeUnit.MILLISECONDS) != null) {
+        return;
+      }
+    }
+  }
+
+  private RevocationEvent nextOtherThan(RevocationEvent skipped) throws InterruptedException {
+    RevocationEvent event;
+    do {
+      event = received.poll(5, TimeUnit.SECONDS);
+    } while (skipped.equals(event));
+    return event;
+  }
+}
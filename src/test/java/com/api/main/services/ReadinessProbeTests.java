@@ -0,0 +1,164 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.dto.ReadinessResponse;
+import com.api.main.security.PasswordHashExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ReadinessProbeTests {
+
+  private HikariDataSource dataSource;
+  private PasswordHashExecutor passwordHashExecutor;
+  private ApplicationAvailabilityBean availability;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl("jdbc:h2:mem:readiness;DB_CLOSE_DELAY=-1");
+    dataSource.setMaximumPoolSize(2);
+    passwordHashExecutor = new PasswordHashExecutor(new SimpleMeterRegistry(), 1, 1, 1);
+    availability = new ApplicationAvailabilityBean();
+    setReadiness(ReadinessState.ACCEPTING_TRAFFIC);
+  }
+
+  @AfterEach
+  void tearDown() {
+    passwordHashExecutor.shutdown();
+    dataSource.close();
+  }
+
+  @Test
+  void reportsDownUntilTheFirstProbeAndUpOnceEveryCheckPasses() {
+    ReadinessProbe probe = probe(dataSource, 10_000);
+    assertThat(probe.current().status()).isEqualTo("DOWN");
+    assertThat(probe.current().checkedAt()).isNull();
+
+    probe.refresh();
+
+    ReadinessResponse readiness = probe.current();
+    assertThat(readiness.status()).isEqualTo("UP");
+    assertThat(readiness.checks())
+        .containsOnlyKeys("database", "connectionPool", "passwordHashing");
+  }
+
+  @Test
+  void unreachableDatabaseIsDown() {
+    ReadinessProbe probe =
+        probe(
+            new AbstractDataSource() {
+              @Override
+              public Connection getConnection() throws SQLException {
+                throw new SQLException("connection refused");
+              }
+
+              @Override
+              public Connection getConnection(String username, String password)
+                  throws SQLException {
+                return getConnection();
+              }
+            },
+            10_000);
+
+    probe.refresh();
+
+    ReadinessResponse readiness = probe.current();
+    assertThat(readiness.status()).isEqualTo("DOWN");
+    assertThat(readiness.checks().get("database").status()).isEqualTo("DOWN");
+    assertThat(readiness.checks().get("database").details())
+        .containsEntry("error", "SQLException");
+  }
+
+  @Test
+  void staleResultIsDown() throws InterruptedException {
+    ReadinessProbe probe = probe(dataSource, 1);
+    probe.refresh();
+
+    Thread.sleep(20);
+
+    ReadinessResponse readiness = probe.current();
+    assertThat(readiness.status()).isEqualTo("DOWN");
+    assertThat(readiness.checks().get("probe").status()).isEqualTo("DOWN");
+  }
+
+  @Test
+  void refusingTrafficIsDown() {
+    ReadinessProbe probe = probe(dataSource, 10_000);
+    probe.refresh();
+
+    setReadiness(ReadinessState.REFUSING_TRAFFIC);
+
+    ReadinessResponse readiness = probe.current();
+    assertThat(readiness.status()).isEqualTo("DOWN");
+    assertThat(readiness.checks()).containsKey("application");
+  }
+
+  @Test
+  void fullHashQueueIsDown() throws Exception {
+    ReadinessProbe probe = probe(dataSource, 10_000);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch running = new CountDownLatch(1);
+    CompletableFuture<Object> busy =
+        CompletableFuture.supplyAsync(
+            () ->
+                passwordHashExecutor.execute(
+                    () -> {
+                      running.countDown();
+                      return await(release);
+                    }));
+    running.await(5, TimeUnit.SECONDS);
+    CompletableFuture<Object> queued =
+        CompletableFuture.supplyAsync(() -> passwordHashExecutor.execute(() -> "queued"));
+    while (passwordHashExecutor.saturation() < 1.0) {
+      Thread.onSpinWait();
+    }
+
+    probe.refresh();
+
+    assertThat(probe.current().checks().get("passwordHashing").status()).isEqualTo("DOWN");
+    release.countDown();
+    busy.get(5, TimeUnit.SECONDS);
+    queued.get(5, TimeUnit.SECONDS);
+  }
+
+  private ReadinessProbe probe(DataSource source, long maxAgeMillis) {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("passwordHashExecutor", passwordHashExecutor);
+    ReadinessProbe probe =
+        new ReadinessProbe(
+            source, beanFactory.getBeanProvider(PasswordHashExecutor.class), availability);
+    ReflectionTestUtils.setField(probe, "maxAgeMillis", maxAgeMillis);
+    ReflectionTestUtils.setField(probe, "timeoutMillis", 1000L);
+    ReflectionTestUtils.setField(probe, "maxHashSaturation", 1.0);
+    return probe;
+  }
+
+  private void setReadiness(ReadinessState state) {
+    availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, state));
+  }
+
+  private static Object await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.config.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaPinningTests {
+
+  private static final String READ_SOURCE = "SELECT source FROM marker";
+
+  private HikariDataSource replica;
+  private ReplicaRoutingDataSource routing;
+  private ReplicaPinning replicaPinning;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnlyTransaction;
+
+  @BeforeEach
+  void setUp() {
+    JdbcDataSource primary = new JdbcDataSource();
+    primary.setURL("jdbc:h2:mem:pinning-primary;DB_CLOSE_DELAY=-1");
+    replica = new HikariDataSource();
+    replica.setJdbcUrl("jdbc:h2:mem:pinning-replica;DB_CLOSE_DELAY=-1");
+    mark(new JdbcTemplate(primary), "primary");
+    mark(new JdbcTemplate(replica), "replica");
+
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+    PlatformTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("transactionManager", transactionManager);
+    replicaPinning =
+        new ReplicaPinning(
+            new InMemoryRevocationEventBus(),
+            beanFactory.getBeanProvider(PlatformTransactionManager.class),
+            replica.getJdbcUrl(),
+            5000);
+    routing =
+        new ReplicaRoutingDataSource(
+            primary, List.of(replica), replicaPinning, 5000, new SimpleMeterRegistry());
+    dataSource.setReadOnlyDataSource(routing);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    routing.close();
+  }
+
+  @Test
+  void rejectingReplicaReadIsConfirmedOnThePrimary() {
+    String source =
+        readOnlyTransaction.execute(
+            status -> {
+              assertThat(read()).isEqualTo("replica");
+              // The transaction now holds a replica connection
+              return replicaPinning.readForUser("alice", this::read, "replica"::equals);
+            });
+
+    assertThat(source).isEqualTo("primary");
+  }
+
+  @Test
+  void pinnedUserIsReadFromThePrimary() {
+    replicaPinning.pinUser("alice");
+
+    String source =
+        readOnlyTransaction.execute(
+            status -> replicaPinning.readForUser("alice", this::read, result -> false));
+
+    assertThat(source).isEqualTo("primary");
+  }
+
+  @Test
+  void unpinnedReadStaysOnTheReplica() {
+    String source =
+        readOnlyTransaction.execute(
+            status -> replicaPinning.readForUser("bob", this::read, result -> false));
+
+    assertThat(source).isEqualTo("replica");
+  }
+
+  private String read() {
+    return jdbcTemplate.queryForObject(READ_SOURCE, String.class);
+  }
+
+  private static void mark(JdbcTemplate jdbcTemplate, String source) {
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (source VARCHAR(16))");
+    jdbcTemplate.update("DELETE FROM marker");
+    jdbcTemplate.update("INSERT INTO marker VALUES (?)", source);
+  }
+}
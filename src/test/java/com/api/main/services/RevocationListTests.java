@@ -0,0 +1,75 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.main.dto.LoginRequest;
+import com.api.main.TestUsers;
+import com.api.main.repositories.UserRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@SpringBootTest(
+    properties = {
+      "token.format=signed",
+      "token.signing-key=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="
+    })
+class RevocationListTests {
+
+  private static final String USERNAME = "revocation-user";
+  private static final String PASSWORD = TestUsers.PASSWORD;
+
+  @Autowired private AuthService authService;
+  @Autowired private TokenService tokenService;
+  @Autowired private RevocationEventBus revocationEventBus;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  void createUser() {
+    TestUsers.ensure(userRepository, passwordEncoder, USERNAME, "USER");
+  }
+
+  @Test
+  void tokenIssuedAfterDelayedUserEventStillValidates() throws Exception {
+    Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    Thread.sleep(5);
+    String token = login();
+    Thread.sleep(5);
+
+    // Another instance's "logout everywhere" arrives after the user logged in again
+    revocationEventBus.publish(RevocationEvent.user(USERNAME, revokedAt));
+
+    assertThat(tokenService.resolve(token)).isPresent();
+  }
+
+  @Test
+  void tokenIssuedBeforeUserEventIsRejected() throws Exception {
+    String token = login();
+    Thread.sleep(5);
+
+    revocationEventBus.publish(
+        RevocationEvent.user(USERNAME, Instant.now().truncatedTo(ChronoUnit.MICROS)));
+
+    assertThat(tokenService.resolve(token)).isEmpty();
+  }
+
+  @Test
+  void encodedUserEventNeedsItsInstant() {
+    RevocationEvent event =
+        RevocationEvent.user("a:b", Instant.parse("2026-01-02T03:04:05.123456Z"));
+
+    assertThat(RevocationEvent.decode(event.encode())).isEqualTo(event);
+    assertThatThrownBy(() -> RevocationEvent.decode("USER:legacy"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private String login() {
+    return authService.authenticate(new LoginRequest(USERNAME, PASSWORD)).getToken();
+  }
+}
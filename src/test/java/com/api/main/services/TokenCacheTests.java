@@ -0,0 +1,109 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.security.TokenPrincipal;
+import com.api.main.security.TokenWatermark;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class TokenCacheTests {
+
+  private static final TokenPrincipal ALICE =
+      new TokenPrincipal("alice", "USER", Instant.now().plus(1, ChronoUnit.HOURS));
+
+  private final TokenCache tokenCache = new TokenCache(new SimpleMeterRegistry(), 1000, 60000);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void loginsOfOtherUsersDuringLoadsDoNotStopCaching() {
+    for (int i = 0; i < 3; i++) {
+      int login = i;
+      tokenCache.getPrincipal(
+          "alice-token",
+          load(
+              () -> {
+                tokenCache.invalidateRevocationState("user-" + login);
+                return Optional.of(ALICE);
+              }));
+      tokenCache.getWatermark(
+          "alice",
+          load(
+              () -> {
+                tokenCache.invalidateRevocationState("other-" + login);
+                return TokenWatermark.none("alice");
+              }));
+    }
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void revocationDuringLoadIsNotCached() {
+    tokenCache.getPrincipal(
+        "alice-token",
+        load(
+            () -> {
+              tokenCache.invalidateUser("alice");
+              return Optional.of(ALICE);
+            }));
+    tokenCache.getPrincipal(
+        "other-token",
+        load(
+            () -> {
+              tokenCache.invalidateToken("other-token");
+              return Optional.of(ALICE);
+            }));
+    tokenCache.getWatermark(
+        "alice",
+        load(
+            () -> {
+              tokenCache.invalidateRevocationState("alice");
+              return TokenWatermark.none("alice");
+            }));
+
+    tokenCache.getPrincipal("alice-token", load(() -> Optional.of(ALICE)));
+    tokenCache.getPrincipal("other-token", load(() -> Optional.of(ALICE)));
+    tokenCache.getWatermark("alice", load(() -> TokenWatermark.none("alice")));
+    assertThat(loads).hasValue(6);
+  }
+
+  @Test
+  void invalidationDropsCachedEntries() {
+    tokenCache.getPrincipal("alice-token", load(() -> Optional.of(ALICE)));
+    tokenCache.getPrincipal("alice-token", load(() -> Optional.of(ALICE)));
+    assertThat(loads).hasValue(1);
+
+    tokenCache.invalidateUser("alice");
+    tokenCache.getPrincipal("alice-token", load(() -> Optional.of(ALICE)));
+    assertThat(loads).hasValue(2);
+
+    tokenCache.invalidateToken("alice-token");
+    tokenCache.getPrincipal("alice-token", load(() -> Optional.of(ALICE)));
+    assertThat(loads).hasValue(3);
+
+    tokenCache.invalidateAll();
+    tokenCache.getPrincipal("alice-token", load(() -> Optional.of(ALICE)));
+    assertThat(loads).hasValue(4);
+  }
+
+  @Test
+  void unknownTokensAreNotCached() {
+    tokenCache.getPrincipal("unknown", load(Optional::empty));
+    tokenCache.getPrincipal("unknown", load(Optional::empty));
+
+    assertThat(loads).hasValue(2);
+  }
+
+  private <T> Supplier<T> load(Supplier<T> loader) {
+    return () -> {
+      loads.incrementAndGet();
+      return loader.get();
+    };
+  }
+}
@@ -0,0 +1,71 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.entity.Token;
+import com.api.main.repositories.TokenRepository;
+import com.api.main.security.TokenHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@SpringBootTest(
+    properties = {
+      "token.purge.batch-size=2",
+      "token.purge.batch-pause=0",
+      "token.purge.initial-delay=3600000"
+    })
+class TokenPurgerTests {
+
+  @Autowired private TokenPurger tokenPurger;
+  @Autowired private TokenRepository tokenRepository;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private TaskScheduler taskScheduler;
+
+  @Test
+  void purgeRemovesExpiredTokensInBatchesAndKeepsLiveOnes() {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    for (int i = 0; i < 5; i++) {
+      save(now.minus(2, ChronoUnit.HOURS), now.minus(1, ChronoUnit.HOURS));
+    }
+    Token live = save(now, now.plus(1, ChronoUnit.HOURS));
+    double purgedBefore = meterRegistry.get("tokens.purged").counter().count();
+
+    tokenPurger.purgeExpiredTokens();
+
+    assertThat(tokenRepository.findExpiredTokenIds(Instant.now(), Limit.of(10))).isEmpty();
+    assertThat(tokenRepository.findById(live.getId())).isPresent();
+    assertThat(meterRegistry.get("tokens.purged").counter().count() - purgedBefore)
+        .isGreaterThanOrEqualTo(5);
+  }
+
+  @Test
+  void purgeStopsWhenTheLeaseHasRunOut() {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    Token expired = save(now.minus(2, ChronoUnit.HOURS), now.minus(1, ChronoUnit.HOURS));
+
+    assertThat(tokenPurger.purge(now.minusSeconds(1))).isZero();
+    assertThat(tokenRepository.findById(expired.getId())).isPresent();
+
+    tokenPurger.purgeExpiredTokens();
+  }
+
+  @Test
+  void scheduledJobsShareMoreThanOneThread() {
+    assertThat(taskScheduler).isInstanceOf(ThreadPoolTaskScheduler.class);
+    assertThat(((ThreadPoolTaskScheduler) taskScheduler).getPoolSize()).isGreaterThan(1);
+  }
+
+  private Token save(Instant createdAt, Instant expiresAt) {
+    String value = UUID.randomUUID().toString();
+    return tokenRepository.save(
+        new Token(TokenHasher.hash(value), "purge-user", createdAt, expiresAt));
+  }
+}
@@ -0,0 +1,95 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class UserDetailsCacheTests {
+
+  private static final UserSnapshot ALICE =
+      new UserSnapshot(1L, "alice", "alice@example.com", "{bcrypt}hash", "USER", true);
+
+  private InMemoryRevocationEventBus eventBus;
+  private UserDetailsCache cache;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    eventBus = new InMemoryRevocationEventBus();
+    ReplicaPinning replicaPinning =
+        new ReplicaPinning(
+            eventBus,
+            new DefaultListableBeanFactory().getBeanProvider(PlatformTransactionManager.class),
+            "",
+            5000);
+    cache = new UserDetailsCache(new SimpleMeterRegistry(), eventBus, replicaPinning, 100, 60000);
+  }
+
+  @Test
+  void hitDoesNotCallTheLoaderAndMissesAreNotCached() {
+    assertThat(cache.get("alice", this::loadAlice)).contains(ALICE);
+    assertThat(cache.get("alice", this::loadAlice)).contains(ALICE);
+    assertThat(loads).hasValue(1);
+
+    assertThat(cache.get("nobody", Optional::empty)).isEmpty();
+    assertThat(cache.getIfPresent("nobody")).isEmpty();
+  }
+
+  @Test
+  void evictDropsTheSnapshot() {
+    cache.get("alice", this::loadAlice);
+
+    cache.evict("alice");
+
+    assertThat(cache.getIfPresent("alice")).isEmpty();
+    cache.get("alice", this::loadAlice);
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void loadRacingAnEvictIsNotCached() {
+    Optional<UserSnapshot> loaded =
+        cache.get(
+            "alice",
+            () -> {
+              cache.evict("alice");
+              return loadAlice();
+            });
+
+    assertThat(loaded).contains(ALICE);
+    assertThat(cache.getIfPresent("alice")).isEmpty();
+  }
+
+  @Test
+  void evictOfAnotherUserDuringALoadKeepsTheLoadCached() {
+    cache.get(
+        "alice",
+        () -> {
+          cache.evict("bob");
+          eventBus.publish(RevocationEvent.userDetails("carol"));
+          return loadAlice();
+        });
+
+    assertThat(cache.getIfPresent("alice")).contains(ALICE);
+  }
+
+  @Test
+  void userDetailsEventFromAnotherInstanceInvalidates() {
+    cache.get("alice", this::loadAlice);
+
+    eventBus.publish(RevocationEvent.userDetails("alice"));
+
+    assertThat(cache.getIfPresent("alice")).isEmpty();
+  }
+
+  private Optional<UserSnapshot> loadAlice() {
+    loads.incrementAndGet();
+    return Optional.of(ALICE);
+  }
+}
@@ -0,0 +1,38 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.main.TestUsers;
+import com.api.main.entity.User;
+import com.api.main.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@SpringBootTest
+class UserDetailsEvictionListenerTests {
+
+  private static final String USERNAME = "disabled-user";
+
+  @Autowired private UserDetailsCache userDetailsCache;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @Test
+  void disablingAnAccountEvictsItsCachedDetails() {
+    User user = TestUsers.ensure(userRepository, passwordEncoder, USERNAME, "USER");
+    userDetailsCache.get(
+        USERNAME, () -> userRepository.findByUsername(USERNAME).map(UserSnapshot::of));
+    assertThat(userDetailsCache.getIfPresent(USERNAME)).isPresent();
+
+    user.setEnabled(false);
+    userRepository.save(user);
+
+    assertThat(userDetailsCache.getIfPresent(USERNAME)).isEmpty();
+    assertThat(
+            userDetailsCache.get(
+                USERNAME, () -> userRepository.findByUsername(USERNAME).map(UserSnapshot::of)))
+        .hasValueSatisfying(snapshot -> assertThat(snapshot.enabled()).isFalse());
+  }
+}
@@ -0,0 +1,115 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.main.TestUsers;
+import com.api.main.entity.User;
+import com.api.main.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "users.export.page-size=2")
+@AutoConfigureMockMvc
+class UserExportServiceTests {
+
+  @Autowired private UserExportService userExportService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private MockMvc mockMvc;
+
+  @Test
+  void ndjsonExportPagesThroughEveryUserAfterTheCursor() throws Exception {
+    List<User> users = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      users.add(saveUser("export" + suffix(), "USER"));
+    }
+    long after = users.get(0).getId();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    userExportService.export(out, UserExportService.Format.NDJSON, after);
+
+    List<Long> ids = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      ids.add(objectMapper.readTree(line).get("id").asLong());
+    }
+    assertThat(ids).isSorted().allMatch(id -> id > after);
+    assertThat(ids)
+        .containsAll(users.subList(1, users.size()).stream().map(User::getId).toList());
+  }
+
+  @Test
+  void csvExportEscapesCellsAndNeutralisesFormulas() throws Exception {
+    String username = "=SUM(1,2)" + suffix();
+    User user = saveUser(username, "USER");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    userExportService.export(out, UserExportService.Format.CSV, user.getId() - 1);
+
+    String csv = out.toString(StandardCharsets.UTF_8);
+    assertThat(csv).startsWith("id,username,email,roles\r\n");
+    assertThat(csv).contains(user.getId() + ",\"'" + username + "\"," + user.getEmail());
+    assertThat(UserExportService.csvCell("a,b")).isEqualTo("\"a,b\"");
+    assertThat(UserExportService.csvCell("-1")).isEqualTo("'-1");
+  }
+
+  @Test
+  void exportEndpointStreamsForAdminsOnly() throws Exception {
+    User admin = saveUser("export" + suffix(), "ADMIN");
+    User user = saveUser("export" + suffix(), "USER");
+
+    MvcResult started =
+        mockMvc
+            .perform(
+                get("/users/export")
+                    .param("after", String.valueOf(admin.getId() - 1))
+                    .header("Authorization", "Bearer " + login(admin)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string(containsString(user.getUsername())));
+
+    mockMvc
+        .perform(
+            get("/users/export")
+                .param("format", "xml")
+                .header("Authorization", "Bearer " + login(admin)))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/users/export").header("Authorization", "Bearer " + login(user)))
+        .andExpect(status().isForbidden());
+  }
+
+  private User saveUser(String username, String role) {
+    return TestUsers.ensure(userRepository, passwordEncoder, username, role);
+  }
+
+  private static String suffix() {
+    return UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  private String login(User user) throws Exception {
+    return TestUsers.login(mockMvc, objectMapper, user.getUsername());
+  }
+}
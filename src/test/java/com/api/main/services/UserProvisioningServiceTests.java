@@ -0,0 +1,139 @@
+package com.api.main.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+import com.api.main.TestUsers;
+import com.api.main.dto.BulkCreateResponse;
+import com.api.main.dto.BulkRowError;
+import com.api.main.dto.LoginRequest;
+import com.api.main.exceptions.BulkProvisioningException;
+import com.api.main.repositories.UserRepository;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+@SpringBootTest(properties = {"users.bulk.batch-size=2", "users.bulk.max-errors=2"})
+class UserProvisioningServiceTests {
+
+  private static final String ADMIN = "bulk-admin";
+
+  @Autowired private UserProvisioningService userProvisioningService;
+  @Autowired private AuthService authService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @MockitoSpyBean private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void loginAdmin() {
+    if (!userRepository.existsByUsername(ADMIN)) {
+      TestUsers.ensure(userRepository, passwordEncoder, ADMIN, "ADMIN");
+      authService.authenticate(new LoginRequest(ADMIN, TestUsers.PASSWORD));
+    }
+  }
+
+  @AfterEach
+  void resetSpy() {
+    reset(jdbcTemplate);
+  }
+
+  @Test
+  void validRowsAreCreatedAndRejectedRowsCountedButCapped() throws Exception {
+    String prefix = prefix();
+    String body =
+        String.join(
+            "\n",
+            row(prefix + "a"),
+            "{not json",
+            row(prefix + "b"),
+            row(prefix + "a"),
+            "",
+            "{\"username\":\"x\"}",
+            row(prefix + "c"));
+
+    BulkCreateResponse response = provision(body);
+
+    assertThat(response.getStatus()).isEqualTo("success");
+    assertThat(response.getCreated()).isEqualTo(3);
+    assertThat(response.getFailed()).isEqualTo(3);
+    assertThat(response.getProcessedLines()).isEqualTo(7);
+    assertThat(response.getErrors()).extracting(BulkRowError::getLine).containsExactly(2L, 4L);
+    assertThat(userRepository.existsByUsername(prefix + "c")).isTrue();
+  }
+
+  @Test
+  void failedBatchReportsTheRowsAlreadyCommitted() throws Exception {
+    String prefix = prefix();
+    doCallRealMethod()
+        .doThrow(
+            new CannotGetJdbcConnectionException(
+                "no connection", new SQLTransientConnectionException("timeout")))
+        .when(jdbcTemplate)
+        .batchUpdate(anyString(), anyList());
+    String body =
+        String.join(
+            "\n",
+            row(prefix + "a"),
+            row(prefix + "b"),
+            "{not json",
+            row(prefix + "c"),
+            row(prefix + "d"));
+
+    BulkProvisioningException failure =
+        catchThrowableOfType(BulkProvisioningException.class, () -> provision(body));
+
+    BulkCreateResponse progress = failure.getProgress();
+    assertThat(progress.getStatus()).isEqualTo("error");
+    assertThat(progress.getCreated()).isEqualTo(2);
+    assertThat(progress.getProcessedLines()).isEqualTo(2);
+    assertThat(progress.getFailed()).isZero();
+    assertThat(userRepository.existsByUsername(prefix + "b")).isTrue();
+    assertThat(userRepository.existsByUsername(prefix + "c")).isFalse();
+  }
+
+  @Test
+  void failureBeforeAnyCommitReportsNoProgress() {
+    doThrow(new IllegalStateException("hashing failed"))
+        .when(jdbcTemplate)
+        .batchUpdate(anyString(), anyList());
+
+    BulkProvisioningException failure =
+        catchThrowableOfType(
+            BulkProvisioningException.class, () -> provision(row(prefix() + "a")));
+
+    assertThat(failure.getProgress().getCreated()).isZero();
+    assertThat(failure.getProgress().getProcessedLines()).isZero();
+  }
+
+  private BulkCreateResponse provision(String body) throws Exception {
+    return userProvisioningService.provision(
+        new BufferedReader(new StringReader(body)), ADMIN);
+  }
+
+  private static String prefix() {
+    return "bulk" + UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  private static String row(String username) {
+    return "{\"username\":\""
+        + username
+        + "\",\"email\":\""
+        + username
+        + "@example.com\",\"password\":\"Passw0rd!\",\"role\":\"USER\"}";
+  }
+}